@@ -0,0 +1,103 @@
+import java.awt.Point;
+import java.util.Comparator;
+
+/**
+ * A* search that explores TraceStates from a priority Storage ordered by
+ * pathLength() plus the Manhattan distance from the end of the path to the
+ * ending component, so states heading toward the '2' are explored first.
+ *
+ * The Manhattan distance never overestimates the remaining trace and changes
+ * by exactly one per step, so states come out of storage in nondecreasing
+ * estimate order and every solution's estimate is its length plus one. Once
+ * a state's estimate exceeds the best solution length plus one, every
+ * shortest trace has been found and the search stops.
+ *
+ * @author Jacob Smith
+ */
+public class AStarSearch implements SearchEngine {
+	/** counters for the last search */
+	private final SearchMetrics metrics = new SearchMetrics();
+
+	@Override
+	public boolean findsShortestFirst() {
+		return true;
+	}
+
+	@Override
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void search(CircuitBoard board, SolutionCollector collector) {
+		metrics.start(board);
+		Point end = board.getEndingPoint();
+		// ties go to the longer path, which is closer to being a solution
+		Storage<TraceState> stateStore = Storage.getPriorityInstance(
+				Comparator.comparingInt((TraceState state) -> estimate(state, end))
+						.thenComparing(Comparator.comparingInt(TraceState::pathLength).reversed()));
+
+		Point start = board.getStartingPoint();
+		int r = start.x;
+		int c = start.y;
+
+		if (board.isOpen(r - 1, c)) store(stateStore, new TraceState(board, r - 1, c));
+		if (board.isOpen(r + 1, c)) store(stateStore, new TraceState(board, r + 1, c));
+		if (board.isOpen(r, c - 1)) store(stateStore, new TraceState(board, r, c - 1));
+		if (board.isOpen(r, c + 1)) store(stateStore, new TraceState(board, r, c + 1));
+
+		while (!stateStore.isEmpty()) {
+			TraceState current = stateStore.retrieve();
+
+			int bestLength = collector.bestLength();
+			if (bestLength != Integer.MAX_VALUE && estimate(current, end) > bestLength + 1) {
+				metrics.statesPruned(stateStore.size() + 1);
+				break;
+			}
+
+			if (current.isSolution()) {
+				metrics.solutionFound();
+				collector.add(current);
+				if (collector.isFull()) {
+					break;
+				}
+			}
+			else {
+				int cr = current.getRow();
+				int cc = current.getCol();
+
+				if (current.isOpen(cr - 1, cc)) {
+					store(stateStore, new TraceState(current, cr - 1, cc));
+				}
+				if (current.isOpen(cr + 1, cc)) {
+					store(stateStore, new TraceState(current, cr + 1, cc));
+				}
+				if (current.isOpen(cr, cc - 1)) {
+					store(stateStore, new TraceState(current, cr, cc - 1));
+				}
+				if (current.isOpen(cr, cc + 1)) {
+					store(stateStore, new TraceState(current, cr, cc + 1));
+				}
+			}
+		}
+		metrics.stop();
+	}
+
+	/** Store a new state, counting it
+	 * @param stateStore storage for states waiting to be explored
+	 * @param state state to explore
+	 */
+	private void store(Storage<TraceState> stateStore, TraceState state) {
+		stateStore.store(state);
+		metrics.stateCreated(state);
+		metrics.storageSize(stateStore.size());
+	}
+
+	/** @param state search state
+	 * @param end position of the ending component
+	 * @return pathLength() plus the Manhattan distance from the end of the path to end
+	 */
+	private static int estimate(TraceState state, Point end) {
+		return state.pathLength() + Math.abs(state.getRow() - end.x) + Math.abs(state.getCol() - end.y);
+	}
+} // class AStarSearch
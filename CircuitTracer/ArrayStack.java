@@ -0,0 +1,55 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Unsynchronized stack backed by an array that doubles in size when full,
+ * usable directly as a StateContainer.
+ *
+ * @author Jacob Smith
+ */
+public class ArrayStack<T> implements StateContainer<T> {
+	/** initial array size */
+	private static final int DEFAULT_CAPACITY = 16;
+	/** elements, bottom of the stack at index 0 */
+	private Object[] elements = new Object[DEFAULT_CAPACITY];
+	/** number of elements on the stack */
+	private int size;
+
+	/** Add element to the top of the stack
+	 * @param element element to add
+	 */
+	@Override
+	public void store(T element) {
+		if (size == elements.length) {
+			elements = Arrays.copyOf(elements, size * 2);
+		}
+		elements[size++] = element;
+	}
+
+	/** Remove and return the top element
+	 * @return top element
+	 * @throws NoSuchElementException if the stack is empty
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T retrieve() {
+		if (size == 0) {
+			throw new NoSuchElementException();
+		}
+		T element = (T) elements[--size];
+		elements[size] = null;
+		return element;
+	}
+
+	/** @return true if the stack is empty, else false */
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/** @return number of elements on the stack */
+	@Override
+	public int size() {
+		return size;
+	}
+} // class ArrayStack
@@ -0,0 +1,218 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Trace many circuit board files in one run, solving them concurrently on a
+ * fixed pool of worker threads. Each board's shortest paths are written to
+ * its own result file in the output directory, along with a summary.csv
+ * listing every board's outcome, how long it took and the search metrics
+ * behind that time. A board that cannot be read, solved or written gets an
+ * error row in the summary and the rest of the batch goes on, except after
+ * an Error such as OutOfMemoryError, which stops the batch.
+ *
+ * @author Jacob Smith
+ */
+public class BatchTracer {
+	/** name of the summary file written to the output directory */
+	private static final String SUMMARY = "summary.csv";
+	/** search metrics columns of a board that was not searched */
+	private static final String EMPTY_METRICS = SearchMetrics.CSV_HEADER.replaceAll("[^,]", "");
+
+	/** Launch the program.
+	 *
+	 * @param args three required arguments and one optional:
+	 *  first arg: storage type, as for CircuitTracer
+	 *  second arg: directory of board files, or a glob such as boards/valid*.dat
+	 *  third arg: output directory for result files and the summary
+	 *  fourth arg: number of worker threads, defaults to the number of processors
+	 */
+	public static void main(String[] args) {
+		new BatchTracer(args);
+	}
+
+	/** Print instructions for running BatchTracer from the command line. */
+	private void printUsage() {
+		System.out.println("To Run The Program Please Follow The Following Input Structure:");
+		System.out.println("java BatchTracer <-StorageType> <InputDirectoryOrGlob> <OutputDirectory> [Threads]");
+		System.out.println("Storage Type Options are the same as for java CircuitTracer, such as -s or -b");
+		System.out.println("InputDirectoryOrGlob -- a directory of .dat files, or a pattern like boards/valid*.dat");
+		System.out.println("OutputDirectory -- where one .out file per board and " + SUMMARY + " are written");
+		System.out.println("Threads -- number of boards solved at once, defaults to the number of processors");
+		System.out.println("Example:");
+		System.out.println("java BatchTracer -b boards results 8");
+	}
+
+	/**
+	 * Solve every board matching the command line arguments and write the results.
+	 * @param args command line arguments passed through from main()
+	 */
+	public BatchTracer(String[] args) {
+		if (args.length < 3 || args.length > 4 || CircuitTracer.getEngine(args[0], false) == null) {
+			printUsage();
+			return;
+		}
+		int threads = Runtime.getRuntime().availableProcessors();
+		if (args.length == 4) {
+			try {
+				threads = Integer.parseInt(args[3]);
+			} catch (NumberFormatException e) {
+				threads = 0;
+			}
+			if (threads <= 0) {
+				printUsage();
+				return;
+			}
+		}
+
+		ArrayList<Path> boards;
+		try {
+			boards = findBoards(args[1]);
+		} catch (IOException e) {
+			System.out.println("Unable to list board files: " + e.getMessage());
+			return;
+		}
+		File outputDirectory = new File(args[2]);
+		if (!outputDirectory.isDirectory() && !outputDirectory.mkdirs()) {
+			System.out.println("Unable to create output directory " + outputDirectory);
+			return;
+		}
+
+		// Solves boards on the worker pool
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		ArrayList<Future<String>> results = new ArrayList<>();
+		long startTime = System.nanoTime();
+		for (Path board : boards) {
+			results.add(executor.submit(() -> solve(args[0], board, outputDirectory)));
+		}
+		executor.shutdown();
+
+		// Writes one summary line per board, in file name order
+		File summaryFile = new File(outputDirectory, SUMMARY);
+		try (PrintWriter summary = new PrintWriter(summaryFile)) {
+			summary.println("board,result,solutions,length,millis," + SearchMetrics.CSV_HEADER);
+			for (int i = 0; i < results.size(); i++) {
+				try {
+					summary.println(results.get(i).get());
+				} catch (ExecutionException e) {
+					// solve() reports every exception itself, so this is an Error, after which
+					// the JVM cannot be trusted with the remaining boards
+					String name = boards.get(i).getFileName().toString();
+					summary.println(summaryLine(name, "error:" + e.getCause().getClass().getSimpleName(), 0, 0, 0,
+							EMPTY_METRICS));
+					executor.shutdownNow();
+					System.out.println("Batch stopped by " + e.getCause() + " while solving " + name);
+					return;
+				}
+			}
+		} catch (FileNotFoundException e) {
+			System.out.println("Unable to write " + summaryFile);
+			executor.shutdownNow();
+			return;
+		} catch (InterruptedException e) {
+			System.out.println("Batch interrupted: " + e.getMessage());
+			executor.shutdownNow();
+			return;
+		}
+		System.out.printf("Traced %d boards in %d ms, summary written to %s\n", boards.size(),
+				(System.nanoTime() - startTime) / 1000000, summaryFile);
+	}
+
+	/** List the board files named by a directory or a glob, sorted by name
+	 * @param input directory, or glob whose last part is the file name pattern
+	 * @return board files
+	 * @throws IOException if the directory cannot be read
+	 */
+	private static ArrayList<Path> findBoards(String input) throws IOException {
+		Path path = Paths.get(input);
+		String pattern = "*.dat";
+		if (!Files.isDirectory(path)) {
+			pattern = path.getFileName().toString();
+			path = path.getParent() == null ? Paths.get(".") : path.getParent();
+		}
+		ArrayList<Path> boards = new ArrayList<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(path, pattern)) {
+			for (Path file : files) {
+				if (Files.isRegularFile(file)) {
+					boards.add(file);
+				}
+			}
+		}
+		Collections.sort(boards);
+		return boards;
+	}
+
+	/** Solve one board and write its shortest paths to a result file. Any
+	 * exception is reported in the summary line rather than thrown, as result
+	 * error: followed by the exception's class name; Errors are left to stop
+	 * the batch.
+	 * @param storageType storage type argument selecting the search engine
+	 * @param boardFile board to solve
+	 * @param outputDirectory directory for the result file
+	 * @return summary line for this board
+	 */
+	private static String solve(String storageType, Path boardFile, File outputDirectory) {
+		String name = boardFile.getFileName().toString();
+		long startTime = System.nanoTime();
+		String result = "solved";
+		int solutions = 0;
+		int length = 0;
+		String metrics = EMPTY_METRICS;
+		File outFile = new File(outputDirectory, name + ".out");
+		try (PrintWriter out = new PrintWriter(outFile)) {
+			try {
+				CircuitBoard board = new CircuitBoard(boardFile.toString());
+				board.pruneUnreachable();
+				SearchEngine engine = CircuitTracer.getEngine(storageType, false);
+				SolutionWriter writer = new SolutionWriter(board, out, engine.findsShortestFirst());
+				engine.search(board, writer);
+				writer.finish();
+				solutions = writer.getSolutionCount();
+				length = solutions == 0 ? 0 : writer.bestLength();
+				metrics = engine.getMetrics() == null ? metrics : engine.getMetrics().toCsv();
+			} catch (InvalidFileFormatException e) {
+				result = "InvalidFileFormatException";
+			} catch (FileNotFoundException e) {
+				result = "FileNotFoundException";
+			}
+			if (!result.equals("solved")) {
+				out.println(result);
+			}
+			if (out.checkError()) {
+				throw new IOException("Unable to write " + outFile);
+			}
+		} catch (IOException | RuntimeException e) {
+			result = "error:" + e.getClass().getSimpleName();
+			solutions = 0;
+			length = 0;
+			metrics = EMPTY_METRICS;
+		}
+		long millis = (System.nanoTime() - startTime) / 1000000;
+		return summaryLine(name, result, solutions, length, millis, metrics);
+	}
+
+	/** @param name board file name
+	 * @param result solved, the exception that made the board invalid, or error: and the class of the failure
+	 * @param solutions number of shortest paths found
+	 * @param length shortest path length, 0 if none was found
+	 * @param millis time taken
+	 * @param metrics search metrics columns
+	 * @return line of summary.csv for the board, its name quoted as file names may hold commas or quotes
+	 */
+	private static String summaryLine(String name, String result, int solutions, int length, long millis,
+			String metrics) {
+		return "\"" + name.replace("\"", "\"\"") + "\"," + result + "," + solutions + "," + length + "," + millis
+				+ "," + metrics;
+	}
+} // class BatchTracer
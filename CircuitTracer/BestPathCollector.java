@@ -0,0 +1,58 @@
+import java.util.ArrayList;
+
+/**
+ * SolutionCollector that keeps the shortest solutions in a list, in the
+ * order they were found, optionally only the first few of them.
+ *
+ * @author Jacob Smith
+ */
+public class BestPathCollector implements SolutionCollector {
+	/** shortest solutions found so far */
+	private final ArrayList<TraceState> bestPaths = new ArrayList<>();
+	/** length of the solutions in bestPaths */
+	private int bestLength = Integer.MAX_VALUE;
+	/** most solutions of one length to keep */
+	private final int limit;
+
+	/** Constructor keeping every shortest solution */
+	public BestPathCollector() {
+		this(Integer.MAX_VALUE);
+	}
+
+	/** Constructor
+	 * @param limit most solutions of the best length to keep, the first ones found
+	 */
+	public BestPathCollector(int limit) {
+		this.limit = limit;
+	}
+
+	@Override
+	public void add(TraceState solution) {
+		int len = solution.pathLength();
+		if (len > bestLength) {
+			return;
+		}
+		if (len < bestLength) {
+			bestPaths.clear();
+			bestLength = len;
+		}
+		if (bestPaths.size() < limit) {
+			bestPaths.add(solution);
+		}
+	}
+
+	@Override
+	public int bestLength() {
+		return bestLength;
+	}
+
+	@Override
+	public boolean isFull() {
+		return bestPaths.size() >= limit;
+	}
+
+	/** @return shortest solutions found, empty if there were none */
+	public ArrayList<TraceState> getBestPaths() {
+		return bestPaths;
+	}
+} // class BestPathCollector
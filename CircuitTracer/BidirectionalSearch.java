@@ -0,0 +1,248 @@
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * Finds all shortest traces with two breadth-first passes, one growing from
+ * the starting component and one from the ending component, that meet in
+ * the middle of the board.
+ *
+ * Each pass labels open positions with their distance from its component,
+ * always expanding whichever side has the smaller frontier. The shortest
+ * trace length is known once the two sides have labeled enough layers that
+ * no shorter trace could still cross between them. Every shortest trace
+ * then passes through a middle position labeled by both sides, so the traces
+ * are rebuilt by following the start-side labels into the middle and the
+ * end-side labels out to the ending component. Traces come out in the same
+ * order as ShortestPathSearch.
+ *
+ * @author Jacob Smith
+ */
+public class BidirectionalSearch implements SearchEngine {
+	/** row and column offsets of the four neighbors, in the order they are explored: up, down, left, right */
+	private static final int[] DROW = {-1, 1, 0, 0};
+	private static final int[] DCOL = {0, 0, -1, 1};
+
+	/** positions expanded by the pass from the starting component in the last search */
+	private int startExpanded;
+	/** positions expanded by the pass from the ending component in the last search */
+	private int endExpanded;
+	/** counters for the last search */
+	private final SearchMetrics metrics = new SearchMetrics();
+
+	@Override
+	public boolean findsShortestFirst() {
+		return true;
+	}
+
+	@Override
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void search(CircuitBoard board, SolutionCollector collector) {
+		metrics.start(board);
+		startExpanded = 0;
+		endExpanded = 0;
+		int cols = board.numCols();
+		int[] fromStart = new int[board.numRows() * cols];
+		int[] fromEnd = new int[fromStart.length];
+
+		Side start = new Side(board, board.getStartingPoint(), fromStart, fromEnd);
+		Side end = new Side(board, board.getEndingPoint(), fromEnd, fromStart);
+		int bestLength = Math.min(start.bestLength, end.bestLength);
+		while (!done(bestLength, start, end)) {
+			if (end.size < start.size) {
+				endExpanded += end.size;
+				bestLength = Math.min(bestLength, end.expand());
+			} else {
+				startExpanded += start.size;
+				bestLength = Math.min(bestLength, start.expand());
+			}
+		}
+		if (bestLength == Integer.MAX_VALUE) {
+			metrics.stop();
+			return;
+		}
+
+		// every shortest trace passes through a position this far along that both sides have labeled
+		int middle = start.size == 0 ? bestLength : Math.min(start.depth, bestLength);
+		boolean[] toMiddle = new boolean[fromStart.length];
+		int[] stack = new int[fromStart.length];
+		int top = 0;
+		for (int index = 0; index < fromStart.length; index++) {
+			if (fromStart[index] == middle && fromEnd[index] == bestLength + 1 - middle) {
+				toMiddle[index] = true;
+				stack[top++] = index;
+			}
+		}
+		while (top > 0) {
+			int index = stack[--top];
+			for (int dir = 0; dir < DROW.length; dir++) {
+				int r = index / cols + DROW[dir];
+				int c = index % cols + DCOL[dir];
+				if (board.isOpen(r, c)) {
+					int neighbor = r * cols + c;
+					if (!toMiddle[neighbor] && fromStart[neighbor] == fromStart[index] - 1 && fromStart[neighbor] > 0) {
+						toMiddle[neighbor] = true;
+						stack[top++] = neighbor;
+					}
+				}
+			}
+		}
+
+		// rebuild traces depth-first, pushing neighbors in reverse so they come back out up, down, left, right
+		Storage<TraceState> stateStore = Storage.getStackInstance();
+		Point origin = board.getStartingPoint();
+		for (int dir = DROW.length - 1; dir >= 0; dir--) {
+			int r = origin.x + DROW[dir];
+			int c = origin.y + DCOL[dir];
+			if (board.isOpen(r, c) && toMiddle[r * cols + c] && fromStart[r * cols + c] == 1) {
+				store(stateStore, new TraceState(board, r, c));
+			}
+		}
+		while (!stateStore.isEmpty()) {
+			TraceState current = stateStore.retrieve();
+			int length = current.pathLength();
+			if (length == bestLength) {
+				metrics.solutionFound();
+				collector.add(current);
+				if (collector.isFull()) {
+					break;
+				}
+				continue;
+			}
+			int remaining = fromEnd[current.getRow() * cols + current.getCol()];
+			for (int dir = DROW.length - 1; dir >= 0; dir--) {
+				int r = current.getRow() + DROW[dir];
+				int c = current.getCol() + DCOL[dir];
+				if (board.isOpen(r, c)) {
+					int neighbor = r * cols + c;
+					boolean next;
+					if (length < middle) {
+						next = toMiddle[neighbor] && fromStart[neighbor] == length + 1;
+					} else {
+						next = fromEnd[neighbor] == remaining - 1 && fromEnd[neighbor] > 0;
+					}
+					if (next) {
+						store(stateStore, new TraceState(current, r, c));
+					}
+				}
+			}
+		}
+		metrics.stop();
+	}
+
+	/** Store a new state, counting it
+	 * @param stateStore storage for states waiting to be explored
+	 * @param state state to explore
+	 */
+	private void store(Storage<TraceState> stateStore, TraceState state) {
+		stateStore.store(state);
+		metrics.stateCreated(state);
+		metrics.storageSize(stateStore.size());
+	}
+
+	/** Decide whether the two sides have labeled enough of the board
+	 * @param bestLength shortest trace length found crossing between the sides so far
+	 * @param start side growing from the starting component
+	 * @param end side growing from the ending component
+	 * @return true if bestLength is final
+	 */
+	private static boolean done(int bestLength, Side start, Side end) {
+		if (start.size == 0 || end.size == 0) {
+			// one side has labeled every position it can reach, so any crossing has already been seen
+			return true;
+		}
+		return bestLength != Integer.MAX_VALUE && bestLength + 1 <= start.depth + end.depth;
+	}
+
+	/** @return positions expanded by the pass from the starting component in the last search */
+	public int getStartExpanded() {
+		return startExpanded;
+	}
+
+	/** @return positions expanded by the pass from the ending component in the last search */
+	public int getEndExpanded() {
+		return endExpanded;
+	}
+
+	/**
+	 * One breadth-first pass, labeling open positions with their distance
+	 * from a component one layer at a time.
+	 */
+	private static class Side {
+		/** board being searched */
+		private final CircuitBoard board;
+		/** this side's distance labels, 0 for positions not reached */
+		private final int[] dist;
+		/** the other side's distance labels */
+		private final int[] other;
+		/** positions in the current layer */
+		private int[] frontier;
+		/** number of positions in the current layer, 0 once the pass has run out of positions */
+		private int size;
+		/** distance label of the current layer */
+		private int depth;
+		/** shortest trace length found crossing into the other side while labeling the first layer */
+		private int bestLength = Integer.MAX_VALUE;
+
+		/** Constructor labels the first layer - the open neighbors of the component
+		 * @param board board being searched
+		 * @param component position of this side's component
+		 * @param dist this side's distance labels
+		 * @param other the other side's distance labels
+		 */
+		Side(CircuitBoard board, Point component, int[] dist, int[] other) {
+			this.board = board;
+			this.dist = dist;
+			this.other = other;
+			frontier = new int[DROW.length];
+			depth = 1;
+			for (int dir = 0; dir < DROW.length; dir++) {
+				int r = component.x + DROW[dir];
+				int c = component.y + DCOL[dir];
+				if (board.isOpen(r, c)) {
+					bestLength = Math.min(bestLength, label(r * board.numCols() + c));
+				}
+			}
+		}
+
+		/** Label the next layer
+		 * @return shortest trace length found crossing into the other side, or Integer.MAX_VALUE
+		 */
+		int expand() {
+			int cols = board.numCols();
+			int[] current = frontier;
+			int currentSize = size;
+			frontier = new int[Math.max(DROW.length, currentSize * 2)];
+			size = 0;
+			depth++;
+			int best = Integer.MAX_VALUE;
+			for (int i = 0; i < currentSize; i++) {
+				int index = current[i];
+				for (int dir = 0; dir < DROW.length; dir++) {
+					int r = index / cols + DROW[dir];
+					int c = index % cols + DCOL[dir];
+					if (board.isOpen(r, c) && dist[r * cols + c] == 0) {
+						best = Math.min(best, label(r * cols + c));
+					}
+				}
+			}
+			return best;
+		}
+
+		/** Label a position with the current depth and add it to the frontier
+		 * @param index row-major position
+		 * @return trace length through the position if the other side has labeled it, else Integer.MAX_VALUE
+		 */
+		private int label(int index) {
+			dist[index] = depth;
+			if (size == frontier.length) {
+				frontier = Arrays.copyOf(frontier, size * 2);
+			}
+			frontier[size++] = index;
+			return other[index] == 0 ? Integer.MAX_VALUE : depth + other[index] - 1;
+		}
+	}
+} // class BidirectionalSearch
@@ -0,0 +1,39 @@
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+/**
+ * Convert a text circuit board file into the binary format that
+ * CircuitBoard memory-maps instead of parsing. CircuitTracer and
+ * BatchTracer accept either format.
+ * 
+ * @author Jacob Smith
+ */
+public class BoardConverter {
+
+	/** Launch the program.
+	 * 
+	 * @param args two required arguments:
+	 *  first arg: text board file to read
+	 *  second arg: binary board file to write
+	 */
+	public static void main(String[] args) {
+		if (args.length != 2) {
+			System.out.println("To Run The Program Please Follow The Following Input Structure:");
+			System.out.println("java BoardConverter <InputFileName> <OutputFileName>");
+			System.out.println("Example:");
+			System.out.println("java BoardConverter boards/valid1.dat valid1.cbrd");
+			return;
+		}
+		try {
+			CircuitBoard board = new CircuitBoard(args[0]);
+			board.saveBinary(args[1]);
+			System.out.printf("Wrote %d x %d board to %s\n", board.numRows(), board.numCols(), args[1]);
+		} catch (InvalidFileFormatException e) {
+			System.out.println("InvalidFileFormatException: " + e.getMessage());
+		} catch (FileNotFoundException e) {
+			System.out.println("FileNotFoundException: " + e.getMessage());
+		} catch (IOException e) {
+			System.out.println("Unable to write " + args[1] + ": " + e.getMessage());
+		}
+	}
+} // class BoardConverter
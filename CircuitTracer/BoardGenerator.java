@@ -0,0 +1,275 @@
+import java.io.FileNotFoundException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Generate circuit boards of any size from a seed, so the same large board
+ * can be rebuilt for every run of a benchmark instead of being stored. Each
+ * layout puts the starting component in the top left corner:
+ *  - maze: a maze with one path between any two of its spots, cut into
+ *    the board by a randomized depth-first search, with the ending component
+ *    in the far corner cell; density is the fraction of the remaining maze
+ *    walls knocked through, each one adding a loop
+ *  - open: an empty board with the ending component in the bottom right corner
+ *  - random: each other position occupied with probability density, the
+ *    ending component in the bottom right corner
+ *  - spiral: a single corridor spiraling in from the top left corner, walled
+ *    off from its neighboring turns, with the ending component at its center
+ *
+ * @author Jacob Smith
+ */
+public class BoardGenerator {
+	/** Board layouts that can be generated */
+	public static enum Layout {maze, open, random, spiral}
+	/** fewest rows or columns of a generated board */
+	public static final int MIN_SIZE = 3;
+	/** board file characters */
+	private static final char OPEN = 'O';
+	private static final char CLOSED = 'X';
+	private static final char START = '1';
+	private static final char END = '2';
+	/** row and column offsets of the four neighbors: up, down, left, right */
+	private static final int[] DROW = {-1, 1, 0, 0};
+	private static final int[] DCOL = {0, 0, -1, 1};
+
+	/** Launch the program.
+	 *
+	 * @param args four required arguments and one optional:
+	 *  first arg: layout, one of maze, open, random or spiral
+	 *  second arg: number of rows and columns, or ROWSxCOLS
+	 *  third arg: seed for the random choices
+	 *  fourth arg: text board file to write
+	 *  fifth arg: density for maze or random, defaults to 0 for maze and 0.2 for random
+	 */
+	public static void main(String[] args) {
+		if (args.length < 4 || args.length > 5) {
+			printUsage();
+			return;
+		}
+		try {
+			Layout layout = Layout.valueOf(args[0]);
+			String[] size = args[1].split("x", 2);
+			int rows = Integer.parseInt(size[0]);
+			int cols = size.length == 2 ? Integer.parseInt(size[1]) : rows;
+			long seed = Long.parseLong(args[2]);
+			double density = args.length == 5 ? Double.parseDouble(args[4]) : defaultDensity(layout);
+			CircuitBoard board = generate(layout, rows, cols, density, seed);
+			write(board, args[3]);
+			System.out.printf("Wrote %d x %d %s board to %s\n", rows, cols, layout, args[3]);
+		} catch (IllegalArgumentException e) {
+			System.out.println("IllegalArgumentException: " + e.getMessage());
+			printUsage();
+		} catch (FileNotFoundException e) {
+			System.out.println("Unable to write " + args[3] + ": " + e.getMessage());
+		}
+	}
+
+	/** Print instructions for running BoardGenerator from the command line. */
+	private static void printUsage() {
+		System.out.println("To Run The Program Please Follow The Following Input Structure:");
+		System.out.println("java BoardGenerator <Layout> <Size> <Seed> <OutputFileName> [Density]");
+		System.out.println("Layout -- maze, open, random or spiral");
+		System.out.println("Size -- rows and columns, either one number for a square board or ROWSxCOLS");
+		System.out.println("Density -- for random, the fraction of positions occupied (default 0.2);");
+		System.out.println("           for maze, the fraction of walls knocked through (default 0)");
+		System.out.println("Example:");
+		System.out.println("java BoardGenerator maze 501 42 maze501.dat");
+	}
+
+	/** @param layout board layout
+	 * @return density used for the layout when none is given
+	 */
+	public static double defaultDensity(Layout layout) {
+		return layout == Layout.random ? 0.2 : 0.0;
+	}
+
+	/** Generate a board
+	 * @param layout board layout
+	 * @param rows number of rows, at least MIN_SIZE
+	 * @param cols number of columns, at least MIN_SIZE
+	 * @param density for maze and random, from 0 to 1; ignored by the other layouts
+	 * @param seed seed for the random choices; the same arguments always give the same board
+	 * @return new board
+	 * @throws IllegalArgumentException if rows, cols or density is out of range
+	 */
+	public static CircuitBoard generate(Layout layout, int rows, int cols, double density, long seed) {
+		if (rows < MIN_SIZE || cols < MIN_SIZE) {
+			throw new IllegalArgumentException("Rows and columns must be at least " + MIN_SIZE + ".");
+		}
+		if (!(density >= 0 && density <= 1)) {
+			throw new IllegalArgumentException("Density must be from 0 to 1.");
+		}
+		Random random = new Random(seed);
+		char[][] contents;
+		switch (layout) {
+			case maze:
+				contents = maze(rows, cols, density, random);
+				break;
+			case open:
+				contents = filled(rows, cols, OPEN);
+				contents[rows - 1][cols - 1] = END;
+				break;
+			case random:
+				contents = filled(rows, cols, OPEN);
+				for (char[] row : contents) {
+					for (int col = 0; col < cols; col++) {
+						if (random.nextDouble() < density) {
+							row[col] = CLOSED;
+						}
+					}
+				}
+				contents[rows - 1][cols - 1] = END;
+				break;
+			default:
+				contents = spiral(rows, cols);
+				break;
+		}
+		contents[0][0] = START;
+		return new CircuitBoard(contents);
+	}
+
+	/** Write a board as a text board file
+	 * @param board board to write
+	 * @param fileName file to write
+	 * @throws FileNotFoundException if the file cannot be created
+	 */
+	public static void write(CircuitBoard board, String fileName) throws FileNotFoundException {
+		try (PrintWriter out = new PrintWriter(fileName)) {
+			out.println(board.numRows() + " " + board.numCols());
+			out.print(board.toString());
+		}
+	}
+
+	/** @param rows
+	 * @param cols
+	 * @param ch character for every position
+	 * @return rows of board characters all set to ch
+	 */
+	private static char[][] filled(int rows, int cols, char ch) {
+		char[][] contents = new char[rows][cols];
+		for (char[] row : contents) {
+			Arrays.fill(row, ch);
+		}
+		return contents;
+	}
+
+	/** Cut a maze into a closed board. Cells are the positions with an even
+	 * row and column; the positions between two cells are the walls.
+	 * @param rows
+	 * @param cols
+	 * @param density fraction of the walls left standing that are then knocked through
+	 * @param random source of the random choices
+	 * @return board rows with the ending component placed, but not the starting one
+	 */
+	private static char[][] maze(int rows, int cols, double density, Random random) {
+		char[][] contents = filled(rows, cols, CLOSED);
+		int cellRows = (rows + 1) / 2;
+		int cellCols = (cols + 1) / 2;
+		int[] stack = new int[cellRows * cellCols];
+		int top = 0;
+		stack[top++] = 0;
+		contents[0][0] = OPEN;
+		int[] dirs = new int[DROW.length];
+		while (top > 0) {
+			int cell = stack[top - 1];
+			int row = cell / cellCols * 2;
+			int col = cell % cellCols * 2;
+			int count = 0;
+			for (int dir = 0; dir < DROW.length; dir++) {
+				int r = row + 2 * DROW[dir];
+				int c = col + 2 * DCOL[dir];
+				if (r >= 0 && r < rows && c >= 0 && c < cols && contents[r][c] == CLOSED) {
+					dirs[count++] = dir;
+				}
+			}
+			if (count == 0) {
+				top--;
+				continue;
+			}
+			int dir = dirs[random.nextInt(count)];
+			contents[row + DROW[dir]][col + DCOL[dir]] = OPEN;
+			contents[row + 2 * DROW[dir]][col + 2 * DCOL[dir]] = OPEN;
+			stack[top++] = (row / 2 + DROW[dir]) * cellCols + col / 2 + DCOL[dir];
+		}
+		if (density > 0) {
+			for (int row = 0; row < rows; row++) {
+				for (int col = (row + 1) % 2; col < cols; col += 2) {
+					// a wall lies between two cells, above and below or left and right
+					boolean between = row % 2 == 0 ? col + 1 < cols : row + 1 < rows;
+					if (between && contents[row][col] == CLOSED && random.nextDouble() < density) {
+						contents[row][col] = OPEN;
+					}
+				}
+			}
+		}
+		contents[(cellRows - 1) * 2][(cellCols - 1) * 2] = END;
+		return contents;
+	}
+
+	/** Cut a corridor into a closed board that runs clockwise around the
+	 * edge and spirals inward, never touching any of itself but the position
+	 * it came from, until it can neither go on nor turn
+	 * @param rows
+	 * @param cols
+	 * @return board rows with the ending component at the end of the corridor, but not the starting one
+	 */
+	private static char[][] spiral(int rows, int cols) {
+		char[][] contents = filled(rows, cols, CLOSED);
+		// clockwise order: right, down, left, up
+		int[] turns = {3, 1, 2, 0};
+		int row = 0;
+		int col = 0;
+		int turn = 0;
+		contents[row][col] = OPEN;
+		boolean turned = false;
+		while (true) {
+			int dr = DROW[turns[turn]];
+			int dc = DCOL[turns[turn]];
+			if (canCut(contents, row + dr, col + dc, row, col)) {
+				row += dr;
+				col += dc;
+				contents[row][col] = OPEN;
+				turned = false;
+			} else if (turned) {
+				break;
+			} else {
+				turn = (turn + 1) % turns.length;
+				turned = true;
+			}
+		}
+		contents[row][col] = END;
+		return contents;
+	}
+
+	/** @param contents board rows
+	 * @param row
+	 * @param col
+	 * @param fromRow row of the corridor's last position
+	 * @param fromCol column of the corridor's last position
+	 * @return true if row, col is on the board, still closed, and has no open
+	 *         neighbor other than the corridor's last position
+	 */
+	private static boolean canCut(char[][] contents, int row, int col, int fromRow, int fromCol) {
+		if (!inside(contents, row, col) || contents[row][col] != CLOSED) {
+			return false;
+		}
+		for (int dir = 0; dir < DROW.length; dir++) {
+			int r = row + DROW[dir];
+			int c = col + DCOL[dir];
+			if ((r != fromRow || c != fromCol) && inside(contents, r, c) && contents[r][c] != CLOSED) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/** @param contents board rows
+	 * @param row
+	 * @param col
+	 * @return true if row, col is on the board
+	 */
+	private static boolean inside(char[][] contents, int row, int col) {
+		return row >= 0 && row < contents.length && col >= 0 && col < contents[0].length;
+	}
+} // class BoardGenerator
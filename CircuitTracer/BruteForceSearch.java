@@ -0,0 +1,137 @@
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * Brute force search that stores every partial trace as a TraceState and
+ * explores them in the order given by its Storage - depth-first for a stack,
+ * breadth-first for a queue.
+ * 
+ * With dominance pruning turned on, the search keeps the shortest path
+ * length seen so far at each board position and drops any state that
+ * reaches a position by a strictly longer path. Every prefix of a shortest
+ * trace is itself a shortest path to the position it ends at, so states of
+ * equal length are kept and no shortest trace is lost.
+ * 
+ * @author mvail and Jacob Smith
+ */
+public class BruteForceSearch implements SearchEngine {
+	/** storage for search states waiting to be explored */
+	private Storage<TraceState> stateStore;
+	/** true to drop states dominated by a shorter path to the same position */
+	private boolean prune;
+	/** counters for the last search */
+	private final SearchMetrics metrics = new SearchMetrics();
+
+	/** Constructor
+	 * @param stateStore empty storage deciding the order states are explored in
+	 */
+	public BruteForceSearch(Storage<TraceState> stateStore) {
+		this(stateStore, false);
+	}
+
+	/** Constructor
+	 * @param stateStore empty storage deciding the order states are explored in
+	 * @param prune true to drop states that reach a position by a longer path than one already seen
+	 */
+	public BruteForceSearch(Storage<TraceState> stateStore, boolean prune) {
+		this.stateStore = stateStore;
+		this.prune = prune;
+	}
+
+	/** @return true for first in, first out storage, which finds solutions in nondecreasing length order */
+	@Override
+	public boolean findsShortestFirst() {
+		return stateStore.isFirstInFirstOut();
+	}
+
+	@Override
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void search(CircuitBoard board, SolutionCollector collector) {
+		// Initializes search 
+		metrics.start(board);
+		int cols = board.numCols();
+		int[] bestAt = null; //shortest path length seen at each row-major position, when pruning
+		if (prune) {
+			bestAt = new int[board.numRows() * cols];
+			Arrays.fill(bestAt, Integer.MAX_VALUE);
+		}
+
+		Point start = board.getStartingPoint();
+		int r = start.x;
+		int c = start.y;
+
+		if (board.isOpen(r - 1, c) && !dominated(bestAt, (r - 1) * cols + c, 1)) store(new TraceState(board, r - 1, c));
+		if (board.isOpen(r + 1, c) && !dominated(bestAt, (r + 1) * cols + c, 1)) store(new TraceState(board, r + 1, c));
+		if (board.isOpen(r, c - 1) && !dominated(bestAt, r * cols + c - 1, 1)) store(new TraceState(board, r, c - 1));
+		if (board.isOpen(r, c + 1) && !dominated(bestAt, r * cols + c + 1, 1)) store(new TraceState(board, r, c + 1));
+
+		// Search for best paths
+		while (!stateStore.isEmpty()) {
+			TraceState current = stateStore.retrieve();
+
+			// once no more solutions of the best length are wanted, only shorter ones are worth looking for
+			int maxLength = collector.isFull() ? collector.bestLength() - 1 : collector.bestLength();
+			if (current.pathLength() > maxLength) {
+				metrics.statePruned();
+				continue;
+			}
+			if (prune && current.pathLength() > bestAt[current.getRow() * cols + current.getCol()]) {
+				continue; //a shorter path reached this position after current was stored
+			}
+
+			if (current.isSolution()) {
+				metrics.solutionFound();
+				collector.add(current);
+			} 
+			else {
+				int cr = current.getRow();
+				int cc = current.getCol();
+
+				if (current.isOpen(cr - 1, cc) && !dominated(bestAt, (cr - 1) * cols + cc, current.pathLength() + 1)) {
+					store(new TraceState(current, cr - 1, cc));
+				}
+				if (current.isOpen(cr + 1, cc) && !dominated(bestAt, (cr + 1) * cols + cc, current.pathLength() + 1)) {
+					store(new TraceState(current, cr + 1, cc));
+				}
+				if (current.isOpen(cr, cc - 1) && !dominated(bestAt, cr * cols + cc - 1, current.pathLength() + 1)) {
+					store(new TraceState(current, cr, cc - 1));
+				}
+				if (current.isOpen(cr, cc + 1) && !dominated(bestAt, cr * cols + cc + 1, current.pathLength() + 1)) {
+					store(new TraceState(current, cr, cc + 1));
+				}
+			}
+		}
+		metrics.stop();
+	}
+
+	/** Store a new state, counting it
+	 * @param state state to explore
+	 */
+	private void store(TraceState state) {
+		stateStore.store(state);
+		metrics.stateCreated(state);
+		metrics.storageSize(stateStore.size());
+	}
+
+	/** Check a new path length at a position against the best seen there,
+	 * recording it if it is no longer.
+	 * @param bestAt best path length seen at each position, null when not pruning
+	 * @param index row-major position
+	 * @param length length of the path reaching the position
+	 * @return true if a strictly shorter path has already reached the position
+	 */
+	private static boolean dominated(int[] bestAt, int index, int length) {
+		if (bestAt == null) {
+			return false;
+		}
+		if (length > bestAt[index]) {
+			return true;
+		}
+		bestAt[index] = length;
+		return false;
+	}
+} // class BruteForceSearch
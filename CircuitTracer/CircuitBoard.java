@@ -1,16 +1,37 @@
 import java.awt.Point;
-import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.FileNotFoundException;
-import java.util.Scanner;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
 
 /**
  * Represents a 2D circuit board as read from an input file.
+ * 
+ * Board contents are packed one bit per position, in row-major order, into
+ * a bitset of blocked positions ('X', '1' and '2') and a bitset of trace
+ * positions ('T'), so copying a board is an array copy of one long per 64
+ * positions rather than a copy of every char. A third bitset holds open
+ * positions closed by pruneUnreachable(), which still print as 'O'. Boards
+ * may also carry a cost per position, shared by every copy since it never
+ * changes, for searches that minimize total cost rather than length.
  *  
  * @author mvail
  */
 public class CircuitBoard {
-	/** current contents of the board */
-	private char[][] board;
+	/** positions that are not available for traces: 'X', '1' and '2' */
+	private long[] blocked;
+	/** positions that are part of the trace: 'T' */
+	private long[] trace;
+	/** open positions that can never be part of a trace, closed by pruneUnreachable() */
+	private long[] pruned;
+	/** row-major cost of running a trace through each position, null if every position costs 1 */
+	private int[] costs;
 	/** location of row,col for '1' */
 	private Point startingPoint;
 	/** location of row,col for '2' */
@@ -25,6 +46,17 @@ public class CircuitBoard {
 	private final char START = '1';	//the starting component
 	private final char END = '2';	//the ending component
 	private final String ALLOWED_CHARS = "OXT12"; //useful for validating with indexOf
+	private static final int BINARY_MAGIC = 0x43425244; //"CBRD", first bytes of a binary board file
+	private static final int BINARY_VERSION = 1;
+	private static final int BINARY_COSTS_VERSION = 2; //binary board followed by a cost layer
+	/** highest cost a position may have */
+	public static final int MAX_COST = 9999;
+	/** line that starts the cost layer of a text board file */
+	public static final String COSTS_HEADER = "costs";
+	private static final int HEADER_BYTES = 32; //eight ints, see saveBinary()
+	/** row and column offsets of the four neighbors of a position */
+	private static final int[] DROW = {-1, 1, 0, 0};
+	private static final int[] DCOL = {0, 0, -1, 1};
 
 	/** Construct a CircuitBoard from a given board input file, where the first
 	 * line contains the number of rows and columns as ints and each subsequent
@@ -37,60 +69,117 @@ public class CircuitBoard {
 	 *  'T' is not expected in input files - represents part of the trace
 	 *   connecting components 1 and 2 in the solution
 	 * 
+	 * The file is read through a byte buffer and validated in a single pass,
+	 * filling the board as each row is read rather than building a String per
+	 * row. Whitespace is ignored anywhere within a row, and blank lines may
+	 * follow the last row.
+	 * 
+	 * The rows may be followed by an optional cost layer: a line holding only
+	 * COSTS_HEADER, then one more row per board row, each holding one
+	 * whitespace-separated integer from 1 to MAX_COST per column, the cost of
+	 * running a trace through that position. Anything else after the rows is
+	 * rejected.
+	 * Costs of positions that are not open are ignored. Without a cost layer
+	 * every position costs 1.
+	 * 
+	 * Files written by saveBinary() are recognized by their header and are
+	 * memory-mapped and copied straight into the board with no parsing.
+	 * 
 	 * @param filename
 	 * 		file containing a grid of characters
-	 * @throws FileNotFoundException if Scanner cannot open or read the file
+	 * @throws FileNotFoundException if the file cannot be opened for reading
 	 * @throws InvalidFileFormatException for any file formatting or content issue
 	 */
 public CircuitBoard(String filename) throws FileNotFoundException {
-    Scanner fileScan = new Scanner(new File(filename));
+    FileInputStream stream = new FileInputStream(filename);
+    BoardReader in = new BoardReader(stream);
     
     try {
-        if (!fileScan.hasNextInt()) {
-            throw new InvalidFileFormatException("First line must contain number of rows and columns.");
+        FileChannel channel = stream.getChannel();
+        if (isBinary(channel)) {
+            ByteBuffer map = mapBinary(channel);
+            ROWS = map.getInt(8);
+            COLS = map.getInt(12);
+            startingPoint = new Point(map.getInt(16), map.getInt(20));
+            endingPoint = new Point(map.getInt(24), map.getInt(28));
+            map.position(HEADER_BYTES);
+            LongBuffer planes = map.asLongBuffer();
+            blocked = new long[words(ROWS * COLS)];
+            trace = new long[blocked.length];
+            pruned = new long[blocked.length];
+            planes.get(blocked);
+            planes.get(trace);
+            checkBinary();
+            if (map.getInt(4) == BINARY_COSTS_VERSION) {
+                costs = new int[ROWS * COLS];
+                map.position(HEADER_BYTES + 2 * blocked.length * Long.BYTES);
+                map.asIntBuffer().get(costs);
+                checkCosts();
+            }
+            return;
         }
-        int rows = fileScan.nextInt();
 
-        if (!fileScan.hasNextInt()) {
-            throw new InvalidFileFormatException("First line must contain two integers: rows and columns.");
-        }
-        int cols = fileScan.nextInt();
+        int rows = in.nextInt("First line must contain number of rows and columns.");
+        int cols = in.nextInt("First line must contain two integers: rows and columns.");
 
         if (rows <= 0 || cols <= 0) {
             throw new InvalidFileFormatException("Rows and columns must be positive.");
         }
+        if ((long) rows * cols > Integer.MAX_VALUE) {
+            throw new InvalidFileFormatException("Board of " + rows + " rows and " + cols + " columns is too large.");
+        }
 
         ROWS = rows;
         COLS = cols;
 
-        if (fileScan.hasNextLine()) {
-            fileScan.nextLine();
-        }
+        in.skipLine();
 
-        board = new char[ROWS][COLS];
+        blocked = new long[words(ROWS * COLS)];
+        trace = new long[blocked.length];
+        pruned = new long[blocked.length];
         int startCount = 0;
         int endCount = 0;
 
         for (int r = 0; r < ROWS; r++) {
-            if (!fileScan.hasNextLine()) {
+            if (!in.hasNextLine()) {
                 throw new InvalidFileFormatException("Not enough rows of board data. Expected " + ROWS);
             }
 
-            String line = fileScan.nextLine().trim().replaceAll("\\s+", "");
-
-            if (line.length() != COLS) {
-                throw new InvalidFileFormatException(
-                    "Row " + r + " has length " + line.length() + " but expected " + COLS
-                );
-            }
-
-            for (int c = 0; c < COLS; c++) {
-                char ch = line.charAt(c);
+            // fill the row straight from the stream, remembering the first bad character
+            // so a wrong row length is still reported ahead of it
+            int length = 0;
+            int invalid = -1;
+            char invalidChar = 0;
+            int pending = 0; //control characters since the last kept one, trimmed unless more follow
+            char pendingChar = 0;
+            for (int b = in.read(); b != -1 && !in.endOfLine(b); b = in.read()) {
+                if (isSpace(b)) {
+                    continue;
+                }
+                if (b < ' ') {
+                    if (length > 0 && pending++ == 0) {
+                        pendingChar = (char) b;
+                    }
+                    continue;
+                }
+                if (pending > 0) {
+                    if (invalid == -1 && length < COLS) {
+                        invalid = length;
+                        invalidChar = pendingChar;
+                    }
+                    length += pending;
+                    pending = 0;
+                }
+                char ch = (char) b;
+                int c = length++;
+                if (c >= COLS || invalid != -1) {
+                    continue;
+                }
 
-                if (ALLOWED_CHARS.indexOf(ch) == -1) {
-                    throw new InvalidFileFormatException(
-                        "Invalid character '" + ch + "' at row " + r + ", col " + c
-                    );
+                if (b > 0x7F || ALLOWED_CHARS.indexOf(ch) == -1) {
+                    invalid = c;
+                    invalidChar = ch;
+                    continue;
                 }
 
                 if (ch == START) {
@@ -101,14 +190,35 @@ public CircuitBoard(String filename) throws FileNotFoundException {
                     endCount++;
                 }
 
-                board[r][c] = ch;
+                if (ch == TRACE) {
+                    set(trace, r * COLS + c);
+                } else if (ch != OPEN) {
+                    set(blocked, r * COLS + c);
+                }
+            }
+
+            if (length != COLS) {
+                throw new InvalidFileFormatException(
+                    "Row " + r + " has length " + length + " but expected " + COLS
+                );
+            }
+
+            if (invalid != -1) {
+                throw new InvalidFileFormatException(
+                    "Invalid character '" + invalidChar + "' at row " + r + ", col " + invalid
+                );
             }
         }
 
-        while (fileScan.hasNextLine()) {
-            if (!fileScan.nextLine().trim().isEmpty()) {
+        if (in.skipBlankLines()) {
+            if (!in.readLine().trim().equals(COSTS_HEADER)) {
                 throw new InvalidFileFormatException("Extra data found after board rows.");
             }
+            in.skipBlankLines();
+            costs = readCosts(in);
+        }
+        if (in.skipBlankLines()) {
+            throw new InvalidFileFormatException("Extra data found after board rows.");
         }
 
         if (startCount != 1 || endCount != 1) {
@@ -119,42 +229,289 @@ public CircuitBoard(String filename) throws FileNotFoundException {
         }
 
     } finally {
-        fileScan.close();
+        in.close();
     }
 }
 
+	/** Read the optional cost layer that follows the board rows
+	 * @param in reader positioned at the first cost row, past COSTS_HEADER
+	 * @return row-major costs
+	 * @throws InvalidFileFormatException if a row is missing, too short or
+	 *         too long, or holds anything but costs from 1 to MAX_COST
+	 */
+	private int[] readCosts(BoardReader in) {
+		int[] layer = new int[ROWS * COLS];
+		for (int r = 0; r < ROWS; r++) {
+			if (!in.hasNextLine()) {
+				throw new InvalidFileFormatException("Not enough rows of costs. Expected " + ROWS);
+			}
+			int length = 0;
+			int value = -1; //cost being read, -1 between costs
+			for (int b = in.read(); ; b = in.read()) {
+				if (b >= '0' && b <= '9') {
+					value = (value < 0 ? 0 : value * 10) + (b - '0');
+					if (value > MAX_COST) {
+						throw new InvalidFileFormatException("Cost at row " + r + ", col " + length + " is more than " + MAX_COST);
+					}
+					continue;
+				}
+				if (value >= 0) {
+					if (value == 0) {
+						throw new InvalidFileFormatException("Cost at row " + r + ", col " + length + " must be at least 1");
+					}
+					if (length < COLS) {
+						layer[r * COLS + length] = value;
+					}
+					length++;
+					value = -1;
+				}
+				if (b == -1 || in.endOfLine(b)) {
+					break;
+				}
+				if (!isSpace(b)) {
+					throw new InvalidFileFormatException("Invalid cost character '" + (char) b + "' at row " + r);
+				}
+			}
+			if (length != COLS) {
+				throw new InvalidFileFormatException("Cost row " + r + " has length " + length + " but expected " + COLS);
+			}
+		}
+		return layer;
+	}
+
+	/** Check that costs loaded from a binary board file are in range
+	 * @throws InvalidFileFormatException if any cost is not from 1 to MAX_COST
+	 */
+	private void checkCosts() {
+		for (int cost : costs) {
+			if (cost < 1 || cost > MAX_COST) {
+				throw new InvalidFileFormatException("Binary board has a cost outside 1 to " + MAX_COST + ".");
+			}
+		}
+	}
+
+	/** Check whether a file starts with the binary board header
+	 * @param channel channel of the file, read without moving its position
+	 * @return true if the file is in the binary format
+	 */
+	private static boolean isBinary(FileChannel channel) {
+		ByteBuffer magic = ByteBuffer.allocate(4);
+		try {
+			while (magic.hasRemaining() && channel.read(magic, magic.position()) > 0) {
+				//keep reading until the magic number is complete or the file ends
+			}
+		} catch (IOException e) {
+			throw new InvalidFileFormatException("Unable to read board file: " + e.getMessage());
+		}
+		return !magic.hasRemaining() && magic.getInt(0) == BINARY_MAGIC;
+	}
+
+	/** Map a binary board file into memory and check its header
+	 * @param channel channel of the binary board file
+	 * @return read-only mapping of the whole file
+	 * @throws InvalidFileFormatException if the header or file size is not valid
+	 */
+	private static ByteBuffer mapBinary(FileChannel channel) {
+		MappedByteBuffer map;
+		try {
+			if (channel.size() < HEADER_BYTES || channel.size() > Integer.MAX_VALUE) {
+				throw new InvalidFileFormatException("Binary board file has an invalid size.");
+			}
+			map = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		} catch (IOException e) {
+			throw new InvalidFileFormatException("Unable to read board file: " + e.getMessage());
+		}
+		if (map.getInt(4) != BINARY_VERSION && map.getInt(4) != BINARY_COSTS_VERSION) {
+			throw new InvalidFileFormatException("Unsupported binary board version " + map.getInt(4) + ".");
+		}
+		long rows = map.getInt(8);
+		long cols = map.getInt(12);
+		if (rows <= 0 || cols <= 0 || rows * cols > Integer.MAX_VALUE) {
+			throw new InvalidFileFormatException("Rows and columns must be positive.");
+		}
+		long costBytes = map.getInt(4) == BINARY_COSTS_VERSION ? rows * cols * Integer.BYTES : 0;
+		if (map.capacity() != HEADER_BYTES + 2L * words((int) (rows * cols)) * Long.BYTES + costBytes) {
+			throw new InvalidFileFormatException("Binary board file size does not match " + rows + " rows and " + cols + " columns.");
+		}
+		return map;
+	}
+
+	/** Check that cells loaded from a binary board file are consistent with its
+	 * header, as the text format guarantees: the components are on the board,
+	 * in different positions and blocked, and no position is both blocked and trace.
+	 * @throws InvalidFileFormatException if the contents are not consistent
+	 */
+	private void checkBinary() {
+		if (!onBoard(startingPoint) || !onBoard(endingPoint) || startingPoint.equals(endingPoint)) {
+			throw new InvalidFileFormatException("Board must contain exactly one '" + START + "' and one '" + END + "'.");
+		}
+		if (!get(blocked, startingPoint.x * COLS + startingPoint.y) || !get(blocked, endingPoint.x * COLS + endingPoint.y)) {
+			throw new InvalidFileFormatException("Binary board components are not marked as blocked.");
+		}
+		for (int i = 0; i < blocked.length; i++) {
+			if ((blocked[i] & trace[i]) != 0) {
+				throw new InvalidFileFormatException("Binary board has positions that are both blocked and trace.");
+			}
+		}
+		int unused = blocked.length * 64 - ROWS * COLS;
+		if (unused > 0 && ((blocked[blocked.length - 1] | trace[trace.length - 1]) >>> (64 - unused)) != 0) {
+			throw new InvalidFileFormatException("Binary board has cells past the end of the board.");
+		}
+	}
+
+	/** @param p position
+	 * @return true if p is on the board */
+	private boolean onBoard(Point p) {
+		return p.x >= 0 && p.x < ROWS && p.y >= 0 && p.y < COLS;
+	}
+
+	/** Write this board in the binary format read back by CircuitBoard(String):
+	 * a header of 4-byte big-endian ints - magic number, version, rows, columns,
+	 * starting row and column, ending row and column - followed by the
+	 * row-major blocked bitset and then the trace bitset as 8-byte longs.
+	 * Together the two bitsets pack each cell into 2 bits. A board with a cost
+	 * layer is written as version 2, with the row-major costs as 4-byte ints
+	 * after the bitsets.
+	 * @param filename file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void saveBinary(String filename) throws IOException {
+		int costBytes = costs == null ? 0 : costs.length * Integer.BYTES;
+		ByteBuffer out = ByteBuffer.allocate(HEADER_BYTES + 2 * blocked.length * Long.BYTES + costBytes);
+		out.putInt(BINARY_MAGIC).putInt(costs == null ? BINARY_VERSION : BINARY_COSTS_VERSION).putInt(ROWS).putInt(COLS);
+		out.putInt(startingPoint.x).putInt(startingPoint.y).putInt(endingPoint.x).putInt(endingPoint.y);
+		out.asLongBuffer().put(blocked).put(trace);
+		if (costs != null) {
+			out.position(HEADER_BYTES + 2 * blocked.length * Long.BYTES);
+			out.asIntBuffer().put(costs);
+		}
+		out.rewind();
+		try (FileOutputStream file = new FileOutputStream(filename)) {
+			file.getChannel().write(out);
+		}
+	}
+
+	/** @param b byte from a board file
+	 * @return true if b is removed from rows as whitespace */
+	private static boolean isSpace(int b) {
+		return b == ' ' || (b >= '\t' && b <= '\r');
+	}
 	
+	/** Construct a CircuitBoard from rows of the same characters a board file
+	 * holds, for boards built by a program rather than read from a file
+	 * @param contents one array of characters per row, all the same length
+	 * @throws InvalidFileFormatException for any content issue a board file could have
+	 */
+	public CircuitBoard(char[][] contents) {
+		ROWS = contents.length;
+		COLS = ROWS == 0 ? 0 : contents[0].length;
+		if (COLS == 0) {
+			throw new InvalidFileFormatException("Rows and columns must be positive.");
+		}
+		if ((long) ROWS * COLS > Integer.MAX_VALUE) {
+			throw new InvalidFileFormatException("Board of " + ROWS + " rows and " + COLS + " columns is too large.");
+		}
+		blocked = new long[words(ROWS * COLS)];
+		trace = new long[blocked.length];
+		pruned = new long[blocked.length];
+		int startCount = 0;
+		int endCount = 0;
+		for (int r = 0; r < ROWS; r++) {
+			if (contents[r].length != COLS) {
+				throw new InvalidFileFormatException("Row " + r + " has length " + contents[r].length + " but expected " + COLS);
+			}
+			for (int c = 0; c < COLS; c++) {
+				char ch = contents[r][c];
+				if (ALLOWED_CHARS.indexOf(ch) == -1) {
+					throw new InvalidFileFormatException("Invalid character '" + ch + "' at row " + r + ", col " + c);
+				}
+				if (ch == START) {
+					startingPoint = new Point(r, c);
+					startCount++;
+				} else if (ch == END) {
+					endingPoint = new Point(r, c);
+					endCount++;
+				}
+				if (ch == TRACE) {
+					set(trace, r * COLS + c);
+				} else if (ch != OPEN) {
+					set(blocked, r * COLS + c);
+				}
+			}
+		}
+		if (startCount != 1 || endCount != 1) {
+			throw new InvalidFileFormatException(
+				"Board must contain exactly one '" + START + "' and one '" + END + "'. " +
+				"Found " + startCount + " start(s), " + endCount + " end(s)."
+			);
+		}
+	}
+
 	/** Copy constructor - duplicates original board
 	 * 
 	 * @param original board to copy
 	 */
 	public CircuitBoard(CircuitBoard original) {
-		board = original.getBoard();
+		blocked = Arrays.copyOf(original.blocked, original.blocked.length);
+		trace = Arrays.copyOf(original.trace, original.trace.length);
+		pruned = Arrays.copyOf(original.pruned, original.pruned.length);
+		costs = original.costs;
 		startingPoint = new Point(original.startingPoint);
 		endingPoint = new Point(original.endingPoint);
 		ROWS = original.numRows();
 		COLS = original.numCols();
 	}
 
-	/** Utility method for copy constructor
-	 * @return copy of board array */
-	private char[][] getBoard() {
-		char[][] copy = new char[board.length][board[0].length];
-		for (int row = 0; row < board.length; row++) {
-			for (int col = 0; col < board[row].length; col++) {
-				copy[row][col] = board[row][col];
-			}
-		}
-		return copy;
+	/** @return approximate number of bytes the copy constructor allocates to copy this board */
+	public long copyBytes() {
+		// the board object, its two Points, and its three bitsets with their 16-byte array headers
+		return 56 + 2 * 24 + 3 * (16 + 8L * blocked.length);
+	}
+
+	/** @param bits number of bits needed
+	 * @return number of longs needed to hold the given number of bits */
+	private static int words(int bits) {
+		// long arithmetic, as bits may be as large as Integer.MAX_VALUE
+		return (int) ((bits + 63L) >>> 6);
+	}
+
+	/** @param set bitset to check
+	 * @param index bit to check
+	 * @return true if the bit at index is set */
+	private static boolean get(long[] set, int index) {
+		return (set[index >>> 6] & (1L << index)) != 0;
+	}
+
+	/** @param set bitset to update
+	 * @param index bit to set */
+	private static void set(long[] set, int index) {
+		set[index >>> 6] |= 1L << index;
 	}
 	
 	/** Return the char at board position x,y
 	 * @param row row coordinate
 	 * @param col col coordinate
 	 * @return char at row, col
+	 * @throws ArrayIndexOutOfBoundsException if row, col is not on the board
 	 */
 	public char charAt(int row, int col) {
-		return board[row][col];
+		if (row < 0 || row >= ROWS || col < 0 || col >= COLS) {
+			throw new ArrayIndexOutOfBoundsException("row " + row + ", col " + col);
+		}
+		int index = row * COLS + col;
+		if (get(trace, index)) {
+			return TRACE;
+		}
+		if (!get(blocked, index)) {
+			return OPEN;
+		}
+		if (row == startingPoint.x && col == startingPoint.y) {
+			return START;
+		}
+		if (row == endingPoint.x && col == endingPoint.y) {
+			return END;
+		}
+		return CLOSED;
 	}
 	
 	/** Return whether given board position is open
@@ -163,10 +520,97 @@ public CircuitBoard(String filename) throws FileNotFoundException {
 	 * @return true if position at (row, col) is open 
 	 */
 	public boolean isOpen(int row, int col) {
-		if (row < 0 || row >= board.length || col < 0 || col >= board[row].length) {
+		if (row < 0 || row >= ROWS || col < 0 || col >= COLS) {
 			return false;
 		}
-		return board[row][col] == OPEN;
+		int index = row * COLS + col;
+		return ((blocked[index >>> 6] | trace[index >>> 6] | pruned[index >>> 6]) & (1L << index)) == 0;
+	}
+
+	/** Close every open position that can never be part of a trace connecting
+	 * the components, so searches never step into it. A position is closed if
+	 * a flood fill from either component cannot reach it, or if it is a dead
+	 * end: fewer than two of its neighbors are open positions or components,
+	 * so a trace could enter it but never leave. Closing a dead end can leave
+	 * its neighbor a dead end, so dead-end corridors are peeled back one
+	 * position at a time. Closed positions still print as 'O'.
+	 * Takes time proportional to rows * cols.
+	 * @return number of positions closed
+	 */
+	public int pruneUnreachable() {
+		int[] queue = new int[ROWS * COLS];
+		boolean[] fromStart = flood(startingPoint, queue);
+		boolean[] fromEnd = flood(endingPoint, queue);
+		int closed = 0;
+		for (int index = 0; index < queue.length; index++) {
+			if (isOpen(index / COLS, index % COLS) && !(fromStart[index] && fromEnd[index])) {
+				set(pruned, index);
+				closed++;
+			}
+		}
+
+		// count the ways out of each remaining position, queueing the dead ends
+		int[] exits = new int[queue.length];
+		int tail = 0;
+		for (int index = 0; index < queue.length; index++) {
+			int row = index / COLS;
+			int col = index % COLS;
+			if (isOpen(row, col)) {
+				for (int dir = 0; dir < DROW.length; dir++) {
+					if (isExit(row + DROW[dir], col + DCOL[dir])) {
+						exits[index]++;
+					}
+				}
+				if (exits[index] < 2) {
+					queue[tail++] = index;
+				}
+			}
+		}
+		for (int head = 0; head < tail; head++) {
+			int index = queue[head];
+			set(pruned, index);
+			closed++;
+			for (int dir = 0; dir < DROW.length; dir++) {
+				int r = index / COLS + DROW[dir];
+				int c = index % COLS + DCOL[dir];
+				// a neighbor is queued once, as it drops from two ways out to one
+				if (isOpen(r, c) && --exits[r * COLS + c] == 1) {
+					queue[tail++] = r * COLS + c;
+				}
+			}
+		}
+		return closed;
+	}
+
+	/** Mark the open positions reachable from a component
+	 * @param component position of the component to start from
+	 * @param queue scratch space for the flood fill, at least rows * cols long
+	 * @return row-major marks, true for reachable positions
+	 */
+	private boolean[] flood(Point component, int[] queue) {
+		boolean[] reached = new boolean[ROWS * COLS];
+		int tail = 0;
+		queue[tail++] = component.x * COLS + component.y;
+		for (int head = 0; head < tail; head++) {
+			for (int dir = 0; dir < DROW.length; dir++) {
+				int r = queue[head] / COLS + DROW[dir];
+				int c = queue[head] % COLS + DCOL[dir];
+				if (isOpen(r, c) && !reached[r * COLS + c]) {
+					reached[r * COLS + c] = true;
+					queue[tail++] = r * COLS + c;
+				}
+			}
+		}
+		return reached;
+	}
+
+	/** @param row
+	 * @param col
+	 * @return true if a trace could leave a neighboring position through (row, col)
+	 */
+	private boolean isExit(int row, int col) {
+		return isOpen(row, col) || (row == startingPoint.x && col == startingPoint.y)
+				|| (row == endingPoint.x && col == endingPoint.y);
 	}
 	
 	/** Set given position to be a 'T'
@@ -176,12 +620,75 @@ public CircuitBoard(String filename) throws FileNotFoundException {
 	 */
 	public void makeTrace(int row, int col) {
 		if (isOpen(row, col)) {
-			board[row][col] = TRACE;
+			set(trace, row * COLS + col);
 		} else {
-			throw new OccupiedPositionException("row " + row + ", col " + col + "contains '" + board[row][col] + "'");
+			throw new OccupiedPositionException("row " + row + ", col " + col + "contains '" + charAt(row, col) + "'");
 		}
 	}
 	
+	/** Set given position to be an 'O', undoing any pruneUnreachable(),
+	 * since the newly opened position may reconnect a pruned region
+	 * @param row
+	 * @param col
+	 * @throws OccupiedPositionException if given position is a component
+	 * @throws ArrayIndexOutOfBoundsException if row, col is not on the board
+	 */
+	public void openPosition(int row, int col) {
+		int index = editableIndex(row, col);
+		blocked[index >>> 6] &= ~(1L << index);
+		trace[index >>> 6] &= ~(1L << index);
+		clearPruning();
+	}
+
+	/** Set given position to be an 'X', undoing any pruneUnreachable()
+	 * @param row
+	 * @param col
+	 * @throws OccupiedPositionException if given position is a component
+	 * @throws ArrayIndexOutOfBoundsException if row, col is not on the board
+	 */
+	public void closePosition(int row, int col) {
+		int index = editableIndex(row, col);
+		set(blocked, index);
+		trace[index >>> 6] &= ~(1L << index);
+		clearPruning();
+	}
+
+	/** @param row
+	 * @param col
+	 * @return row-major index of a position that may be opened or closed
+	 * @throws OccupiedPositionException if given position is a component
+	 * @throws ArrayIndexOutOfBoundsException if row, col is not on the board
+	 */
+	private int editableIndex(int row, int col) {
+		char current = charAt(row, col);
+		if (current == START || current == END) {
+			throw new OccupiedPositionException("row " + row + ", col " + col + " contains '" + current + "'");
+		}
+		return row * COLS + col;
+	}
+
+	/** @return true if this board has a cost layer, false if every position costs 1 */
+	public boolean hasCosts() {
+		return costs != null;
+	}
+
+	/** @param row row coordinate
+	 * @param col col coordinate
+	 * @return cost of running a trace through row, col, 1 if the board has no cost layer
+	 * @throws ArrayIndexOutOfBoundsException if row, col is not on the board
+	 */
+	public int costAt(int row, int col) {
+		if (row < 0 || row >= ROWS || col < 0 || col >= COLS) {
+			throw new ArrayIndexOutOfBoundsException("row " + row + ", col " + col);
+		}
+		return costs == null ? 1 : costs[row * COLS + col];
+	}
+
+	/** Reopen every position closed by pruneUnreachable() */
+	public void clearPruning() {
+		Arrays.fill(pruned, 0L);
+	}
+
 	/** @return starting Point(row,col) */
 	public Point getStartingPoint() {
 		return new Point(startingPoint);
@@ -207,13 +714,161 @@ public CircuitBoard(String filename) throws FileNotFoundException {
 	 */
 	public String toString() {
 		StringBuilder str = new StringBuilder();
-		for (int row = 0; row < board.length; row++) {
-			for (int col = 0; col < board[row].length; col++) {
-				str.append(board[row][col] + " ");
+		for (int row = 0; row < ROWS; row++) {
+			for (int col = 0; col < COLS; col++) {
+				str.append(charAt(row, col)).append(' ');
 			}
 			str.append("\n");
 		}
 		return str.toString();
 	}
 	
+	/**
+	 * Buffered reader of the bytes in a board file, with just enough tokenizing
+	 * to pull the row and column counts off the first line.
+	 */
+	private static class BoardReader {
+		/** size of the read buffer */
+		private static final int BUFFER_SIZE = 1 << 16;
+		/** file being read */
+		private final InputStream in;
+		/** bytes read from the file but not yet consumed */
+		private final byte[] buffer = new byte[BUFFER_SIZE];
+		/** index of the next unconsumed byte in buffer */
+		private int position;
+		/** number of valid bytes in buffer */
+		private int limit;
+
+		/** Constructor
+		 * @param in file to read
+		 */
+		BoardReader(InputStream in) {
+			this.in = in;
+		}
+
+		/** @return next byte, or -1 at the end of the file
+		 * @throws InvalidFileFormatException if the file cannot be read */
+		int read() {
+			if (position == limit && !fill()) {
+				return -1;
+			}
+			return buffer[position++] & 0xFF;
+		}
+
+		/** @return next byte without consuming it, or -1 at the end of the file */
+		private int peek() {
+			if (position == limit && !fill()) {
+				return -1;
+			}
+			return buffer[position] & 0xFF;
+		}
+
+		/** @return true if there are bytes left to read */
+		private boolean fill() {
+			try {
+				limit = in.read(buffer, 0, BUFFER_SIZE);
+			} catch (IOException e) {
+				throw new InvalidFileFormatException("Unable to read board file: " + e.getMessage());
+			}
+			position = 0;
+			if (limit < 0) {
+				limit = 0;
+			}
+			return limit > 0;
+		}
+
+		/** Check whether a byte just read ends the line, consuming the rest of a \r\n pair
+		 * @param b byte just read
+		 * @return true if b is a line terminator
+		 */
+		boolean endOfLine(int b) {
+			if (b == '\r') {
+				if (peek() == '\n') {
+					position++;
+				}
+				return true;
+			}
+			return b == '\n';
+		}
+
+		/** @return true if there is another line, possibly empty, left in the file */
+		boolean hasNextLine() {
+			return peek() != -1;
+		}
+
+		/** Consume whitespace, including line terminators, up to the next data
+		 * @return true if there is data left in the file
+		 */
+		boolean skipBlankLines() {
+			int b = peek();
+			while (b != -1 && b <= ' ') {
+				position++;
+				b = peek();
+			}
+			return b != -1;
+		}
+
+		/** @return rest of the current line, without its terminator */
+		String readLine() {
+			StringBuilder line = new StringBuilder();
+			for (int b = read(); b != -1 && !endOfLine(b); b = read()) {
+				line.append((char) b);
+			}
+			return line.toString();
+		}
+
+		/** Consume the rest of the current line, including its terminator */
+		void skipLine() {
+			for (int b = read(); b != -1 && !endOfLine(b); b = read()) {
+				//discard
+			}
+		}
+
+		/** Read the next whitespace-separated token as an int, crossing lines if needed
+		 * @param message detail for the exception thrown if the token is missing or not an int
+		 * @return the int value of the token
+		 * @throws InvalidFileFormatException if the next token is missing or not an int
+		 */
+		int nextInt(String message) {
+			int b = peek();
+			while (b != -1 && (isSpace(b) || (b >= 0x1C && b <= 0x1F))) {
+				position++;
+				b = peek();
+			}
+			boolean negative = b == '-';
+			if (b == '-' || b == '+') {
+				position++;
+				b = peek();
+			}
+			long value = 0;
+			int digits = 0;
+			while (b >= '0' && b <= '9') {
+				value = value * 10 + (b - '0');
+				if (value > Integer.MAX_VALUE + 1L) {
+					throw new InvalidFileFormatException(message);
+				}
+				digits++;
+				position++;
+				b = peek();
+			}
+			if (digits == 0 || (b != -1 && !isSpace(b) && !(b >= 0x1C && b <= 0x1F))) {
+				throw new InvalidFileFormatException(message);
+			}
+			value = negative ? -value : value;
+			if (value > Integer.MAX_VALUE) {
+				throw new InvalidFileFormatException(message);
+			}
+			return (int) value;
+		}
+
+		/** Close the file, ignoring any error since everything needed has been read */
+		void close() {
+			try {
+				in.close();
+			} catch (IOException e) {
+				//nothing left to read
+			}
+		}
+	}
+
 }// class CircuitBoard
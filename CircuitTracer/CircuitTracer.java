@@ -1,6 +1,9 @@
-import java.awt.Point;
+import java.io.BufferedWriter;
 import java.io.FileNotFoundException;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.util.Locale;
 
 /**
  * Search for shortest paths between start and end points on a circuit board
@@ -14,10 +17,18 @@ public class CircuitTracer {
 
 	/** Launch the program. 
 	 * 
-	 * @param args three required arguments:
-	 *  first arg: -s for stack or -q for queue
+	 * @param args three required arguments, with options before the file name:
+	 *  first arg: -s for stack, -q for queue, -sa for array stack, -qa for ring buffer queue,
+	 *   -b for single-pass BFS, -a for A*, -d for bidirectional BFS,
+	 *   -p for parallel DFS, -m for DFS threads sharing one lock-free stack
+	 *   -i for iterative-deepening DFS, -w for lowest-cost paths by Dijkstra's search
+	 *   -t for the shortest paths with the fewest bends or -j for one shortest path by Jump Point Search
 	 *  second arg: -c for console output or -g for GUI output
-	 *  third arg: input file name 
+	 *  optional args: -prune to drop states dominated by a shorter path to the same position,
+	 *   -stats to report search statistics, -first for one shortest path only,
+	 *   -max N for at most N shortest paths, -count for the number of shortest paths only,
+	 *   -metrics to report search metrics as a JSON line, -turn N for a cost of N per bend with -w
+	 *  last arg: input file name 
 	 */
 	public static void main(String[] args) {
 		new CircuitTracer(args);
@@ -26,36 +37,143 @@ public class CircuitTracer {
 	/** Print instructions for running CircuitTracer from the command line. */
 	private void printUsage() {
 		System.out.println("To Run The Program Please Follow The Following Input Structure:");
-		System.out.println("java CircuitTracer <-StorageType> <-ProgramMode> <InputFileName>");
+		System.out.println("java CircuitTracer <-StorageType> <-ProgramMode> [-Options] <InputFileName>");
 		System.out.println("Storage Type Options:");
 		System.out.println("-s -- uses a stack, DFS");
 		System.out.println("-q -- uses a queue, BFS");
+		System.out.println("-sa -- uses an array-backed stack, DFS");
+		System.out.println("-qa -- uses an array-backed ring buffer queue, BFS");
+		System.out.println("-b -- single breadth-first pass over the board, rebuilds all shortest paths");
+		System.out.println("-a -- uses a priority queue, A* with Manhattan distance");
+		System.out.println("-d -- breadth-first passes from both ends that meet in the middle");
+		System.out.println("-p -- uses a stack per worker thread, parallel DFS");
+		System.out.println("-m -- uses one lock-free stack shared by all worker threads, parallel DFS");
+		System.out.println("-i -- iterative-deepening DFS, holds only the current path in memory");
+		System.out.println("-w -- Dijkstra's search for the lowest-cost paths, using the board's cost layer if it has one");
+		System.out.println("-t -- Dijkstra's search for the shortest paths with the fewest bends");
+		System.out.println("-j -- A* with Jump Point Search, prints one shortest path");
 		System.out.println("Program Mode Options:");
 		System.out.println("-c -- runs program in the console");
 		System.out.println("-g -- runs program in a GUI");
+		System.out.println("Options:");
+		System.out.println("-prune -- with -s, -q, -sa, -qa or -p, skips paths longer than another path to the same spot");
+		System.out.println("-stats -- reports spots pruned before searching, plus search statistics for -d, -i, -w, -t and -j");
+		System.out.println("-first -- prints only the first shortest path found");
+		System.out.println("-max N -- prints at most N shortest paths");
+		System.out.println("-count -- prints only the number of shortest paths");
+		System.out.println("-metrics -- reports states created, pruned and stored, board copy bytes and timings as JSON");
+		System.out.println("-turn N -- with -w, adds N to the cost of every bend in a path");
 		System.out.println("Example:");
 		System.out.println("java CircuitTracer -s -c inputFile.dat");
 	}
 
+	/** Create the search engine selected by a storage type argument
+	 * @param storageType storage type argument, such as -s or -q
+	 * @param prune true to turn on dominance pruning for engines that support it
+	 * @return new search engine, or null if storageType is not a valid option
+	 */
+	static SearchEngine getEngine(String storageType, boolean prune) {
+		return getEngine(storageType, prune, 0);
+	}
+
+	/** Create the search engine selected by a storage type argument
+	 * @param storageType storage type argument, such as -s or -q
+	 * @param prune true to turn on dominance pruning for engines that support it
+	 * @param turnCost cost of every bend in a path, for -w
+	 * @return new search engine, or null if storageType is not a valid option
+	 */
+	static SearchEngine getEngine(String storageType, boolean prune, int turnCost) {
+		switch (storageType) {
+			case "-s":
+				return new BruteForceSearch(Storage.<TraceState>getStackInstance(), prune);
+			case "-q":
+				return new BruteForceSearch(Storage.<TraceState>getQueueInstance(), prune);
+			case "-sa":
+				return new BruteForceSearch(Storage.<TraceState>getArrayStackInstance(), prune);
+			case "-qa":
+				return new BruteForceSearch(Storage.<TraceState>getRingBufferInstance(), prune);
+			case "-b":
+				return new ShortestPathSearch();
+			case "-a":
+				return new AStarSearch();
+			case "-d":
+				return new BidirectionalSearch();
+			case "-p":
+				return new ParallelSearch(Runtime.getRuntime().availableProcessors(), prune);
+			case "-m":
+				return new SharedStorageSearch(new Storage<TraceState>(Storage.DataStructure.treiber),
+						Runtime.getRuntime().availableProcessors());
+			case "-i":
+				return new IterativeDeepeningSearch();
+			case "-w":
+				return new WeightedSearch(turnCost);
+			case "-t":
+				return WeightedSearch.fewestTurns();
+			case "-j":
+				return new JumpPointSearch();
+			default:
+				return null;
+		}
+	}
+
 	/** 
 	 * Set up the CircuitBoard and all other components based on command
 	 * line arguments.
 	 * @param args command line arguments passed through from main()
 	 */
 	public CircuitTracer(String[] args) {
-		if (args.length != 3) {
+		if (args.length < 3) {
 			printUsage();
 			return;
 		}
 
-		// Selects storage type via command line argument
-		Storage<TraceState> stateStore;
-		if (args[0].equals("-s")) {
-			stateStore = Storage.getStackInstance();
-			
-		} else if (args[0].equals("-q")) {
-			stateStore = Storage.getQueueInstance();
-		} else {
+		// Selects optional settings from arguments between program mode and file name
+		boolean prune = false;
+		boolean stats = false;
+		boolean count = false;
+		boolean metrics = false;
+		int limit = Integer.MAX_VALUE;
+		int turnCost = 0;
+		for (int i = 2; i < args.length - 1; i++) {
+			if (args[i].equals("-prune")) {
+				prune = true;
+			} else if (args[i].equals("-stats")) {
+				stats = true;
+			} else if (args[i].equals("-count")) {
+				count = true;
+			} else if (args[i].equals("-metrics")) {
+				metrics = true;
+			} else if (args[i].equals("-turn") && i + 1 < args.length - 1) {
+				try {
+					turnCost = Integer.parseInt(args[++i]);
+				} catch (NumberFormatException e) {
+					turnCost = -1;
+				}
+				if (turnCost < 0 || turnCost > CircuitBoard.MAX_COST) {
+					printUsage();
+					return;
+				}
+			} else if (args[i].equals("-first")) {
+				limit = 1;
+			} else if (args[i].equals("-max") && i + 1 < args.length - 1) {
+				try {
+					limit = Integer.parseInt(args[++i]);
+				} catch (NumberFormatException e) {
+					limit = 0;
+				}
+				if (limit <= 0) {
+					printUsage();
+					return;
+				}
+			} else {
+				printUsage();
+				return;
+			}
+		}
+
+		// Selects storage type or search engine via command line argument
+		SearchEngine engine = getEngine(args[0], prune, turnCost);
+		if (engine == null) {
 			printUsage();
 			return;
 		}
@@ -70,9 +188,10 @@ public class CircuitTracer {
 		}
 
 		// Loads board from a file
+		long startTime = System.nanoTime();
 		CircuitBoard board;
 		try {
-			board = new CircuitBoard(args[2]);
+			board = new CircuitBoard(args[args.length - 1]);
 		} catch (InvalidFileFormatException e) {
 			System.out.println("InvalidFileFormatException");
 			return;
@@ -81,58 +200,73 @@ public class CircuitTracer {
 			return;
 		}
 
-		// Initializes search 
-		ArrayList<TraceState> bestPaths = new ArrayList<>();
-		int bestLength = Integer.MAX_VALUE;
-
-		Point start = board.getStartingPoint();
-		int r = start.x;
-		int c = start.y;
-
-		if (board.isOpen(r - 1, c)) stateStore.store(new TraceState(board, r - 1, c));
-		if (board.isOpen(r + 1, c)) stateStore.store(new TraceState(board, r + 1, c));
-		if (board.isOpen(r, c - 1)) stateStore.store(new TraceState(board, r, c - 1));
-		if (board.isOpen(r, c + 1)) stateStore.store(new TraceState(board, r, c + 1));
-
-		// Search for best paths
-		while (!stateStore.isEmpty()) {
-			TraceState current = stateStore.retrieve();
-
-			if (current.pathLength() > bestLength) {
-				continue;
-			}
+		// Closes positions no trace can pass through, so no search wastes states on them
+		int prunedPositions = board.pruneUnreachable();
 
-			if (current.isSolution()) {
-				int len = current.pathLength();
+		// Counts best paths from the breadth-first distance layers instead of searching for them
+		if (count) {
+			System.out.println(ShortestPathSearch.countShortestPaths(board));
+			return;
+		}
 
-				if (len < bestLength) {
-					bestPaths.clear();
-					bestLength = len;
-				}
-				bestPaths.add(current);
-			} 
-			else {
-				int cr = current.getRow();
-				int cc = current.getCol();
+		// Search for best paths, printing each as soon as it is known to be one of the shortest
+		SolutionWriter solutions = new SolutionWriter(board,
+				new BufferedWriter(new OutputStreamWriter(System.out)), engine.findsShortestFirst(), limit);
+		try {
+			engine.search(board, solutions);
+			solutions.finish();
+		} catch (IOException | UncheckedIOException e) {
+			System.err.println("Unable to print solutions: " + e.getMessage());
+		}
 
-				if (current.isOpen(cr - 1, cc)) {
-					stateStore.store(new TraceState(current, cr - 1, cc));
-				}
-				if (current.isOpen(cr + 1, cc)) {
-					stateStore.store(new TraceState(current, cr + 1, cc));
-				}
-				if (current.isOpen(cr, cc - 1)) {
-					stateStore.store(new TraceState(current, cr, cc - 1));
-				}
-				if (current.isOpen(cr, cc + 1)) {
-					stateStore.store(new TraceState(current, cr, cc + 1));
-				}
+		// Report search statistics for engines that keep them
+		if (stats) {
+			System.err.println("positions pruned before search: " + prunedPositions);
+		}
+		if (stats && engine instanceof BidirectionalSearch) {
+			BidirectionalSearch bidirectional = (BidirectionalSearch) engine;
+			System.err.println("positions expanded from start: " + bidirectional.getStartExpanded());
+			System.err.println("positions expanded from end: " + bidirectional.getEndExpanded());
+		}
+		if (stats && engine instanceof IterativeDeepeningSearch) {
+			IterativeDeepeningSearch deepening = (IterativeDeepeningSearch) engine;
+			System.err.println("iterations: " + deepening.getIterations());
+			System.err.println("last length limit: " + deepening.getLastLimit());
+		}
+		if (stats && engine instanceof WeightedSearch) {
+			WeightedSearch weighted = (WeightedSearch) engine;
+			if (weighted.isFewestTurns()) {
+				System.err.println("fewest bends: " + weighted.getBestTurns());
+			} else {
+				System.err.println("lowest path cost: " + weighted.getBestCost());
 			}
 		}
+		if (stats && engine instanceof JumpPointSearch) {
+			System.err.println("jump points expanded: " + ((JumpPointSearch) engine).getExpanded());
+		}
+		if (metrics && engine.getMetrics() != null) {
+			int length = solutions.getSolutionCount() == 0 ? 0 : solutions.bestLength();
+			System.err.printf(Locale.ROOT, "{\"board\":%s,\"engine\":%s,\"solutions\":%d,\"length\":%d,\"prunedPositions\":%d,%s,\"wallMillis\":%.3f}\n",
+					jsonString(args[args.length - 1]), jsonString(args[0]), solutions.getSolutionCount(), length,
+					prunedPositions, engine.getMetrics().toJson(), (System.nanoTime() - startTime) / 1e6);
+		}
+	}
 
-		// Print best paths found
-		for (TraceState path : bestPaths) {
-			System.out.println(path);
+	/** @param value any string
+	 * @return value as a quoted JSON string
+	 */
+	private static String jsonString(String value) {
+		StringBuilder json = new StringBuilder("\"");
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\') {
+				json.append('\\').append(c);
+			} else if (c < ' ') {
+				json.append(String.format("\\u%04x", (int) c));
+			} else {
+				json.append(c);
+			}
 		}
+		return json.append('"').toString();
 	}
 }
\ No newline at end of file
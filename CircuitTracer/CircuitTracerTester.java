@@ -1,12 +1,16 @@
+import java.awt.Point;
 import java.io.File;
 import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.Random;
 import java.util.Scanner;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 /**
  * A unit test class for CircuitTracer and CircuitBoard.
@@ -27,26 +31,49 @@ public class CircuitTracerTester {
 
 	// maximum seconds willing to wait for CircuitTracer to complete a search
 	private static final int TIMEOUT = 10;
+	// threads and values per thread for concurrent storage tests
+	private static final int STRESS_THREADS = 8;
+	private static final int STRESS_ELEMENTS = 100000;
+	// random position edits per incremental tracer test
+	private static final int EDITS = 200;
 
 	// command line arguments for CircuitTracer
 	private static final String STACK = "-s";
 	private static final String QUEUE = "-q";
+	private static final String SHORTEST = "-b";
+	private static final String ASTAR = "-a";
+	private static final String PARALLEL = "-p";
+	private static final String BIDIRECTIONAL = "-d";
+	private static final String ARRAY_STACK = "-sa";
+	private static final String RING_BUFFER = "-qa";
+	private static final String SHARED = "-m";
+	private static final String DEEPENING = "-i";
+	private static final String WEIGHTED = "-w";
+	private static final String FEWEST_TURNS = "-t";
 	private static final String CONSOLE = "-c";
 	private static final String GUI = "-g";
 	private static final String INVALID_OPTION = "-z";
+	private static final String PRUNE = "-prune";
+	private static final String FIRST = "-first";
+	private static final String MAX = "-max";
+	private static final String COUNT = "-count";
+
+	// suffix for binary copies of input files
+	private static final String BINARY = ".cbrd";
 
 	// bogus file name
 	private static final String NO_SUCH = "noSuchFile";
 
 	// tracking number of tests and test results
-	private final int EXPECTED_TOTAL_TESTS = 86;
+	private final int EXPECTED_TOTAL_TESTS = 289;
 	private int totalTests;
 	private int passes = 0;
 	private int failures = 0;
 	private int totalRun = 0;
 
 	/**
-	 * Initialize and run tests
+	 * Initialize and run tests, exiting with status 1 if any test failed or
+	 * the number of tests was not the number expected, so a build can fail
 	 * 
 	 * @param args not used
 	 * @throws FileNotFoundException
@@ -55,6 +82,9 @@ public class CircuitTracerTester {
 		// to avoid every method being static
 		CircuitTracerTester tester = new CircuitTracerTester(args);
 		tester.runTests();
+		if (tester.failures > 0 || tester.totalTests != tester.EXPECTED_TOTAL_TESTS) {
+			System.exit(1);
+		}
 	}
 
 	/**
@@ -145,6 +175,14 @@ public class CircuitTracerTester {
 					testCircuitBoard(VALID_9_FILENAME, VALID_9, Result.MatchingContents));
 			printTest("CircuitBoard(\"" + VALID_10_FILENAME + "\")",
 					testCircuitBoard(VALID_10_FILENAME, VALID_10, Result.MatchingContents));
+			printTest("CircuitBoard(\"" + VALID_0_FILENAME + "\").pruneUnreachable()",
+					testPruneUnreachable(VALID_0_FILENAME, VALID_0, 0));
+			printTest("CircuitBoard(\"" + VALID_1_FILENAME + "\").pruneUnreachable()",
+					testPruneUnreachable(VALID_1_FILENAME, VALID_1, 2));
+			printTest("CircuitBoard(\"" + VALID_4_FILENAME + "\").pruneUnreachable()",
+					testPruneUnreachable(VALID_4_FILENAME, VALID_4, 27));
+			printTest("CircuitBoard(\"" + VALID_8_FILENAME + "\").pruneUnreachable()",
+					testPruneUnreachable(VALID_8_FILENAME, VALID_8, 9));
 			// invalid file formats
 			printTest("CircuitBoard(\"" + INVALID_1_FILENAME + "\")",
 					testCircuitBoard(INVALID_1_FILENAME, INVALID_1, Result.InvalidFileFormat));
@@ -170,11 +208,205 @@ public class CircuitTracerTester {
 					testCircuitBoard(INVALID_11_FILENAME, INVALID_11, Result.InvalidFileFormat));
 			printTest("CircuitBoard(\"" + INVALID_12_FILENAME + "\")",
 					testCircuitBoard(INVALID_12_FILENAME, INVALID_12, Result.InvalidFileFormat));
+			printTest("CircuitBoard(\"" + INVALID_13_FILENAME + "\")",
+					testCircuitBoard(INVALID_13_FILENAME, INVALID_13, Result.InvalidFileFormat));
 		} catch (Exception e) {
 			System.out.printf("***UNABLE TO RUN/COMPLETE CIRCUITBOARD TESTS\n");
 			e.printStackTrace();
 		}
 
+		System.out.println("*************************************");
+		System.out.println("CircuitBoard Binary File Format Tests");
+		System.out.println("*************************************\n");
+		try {
+			printTest("CircuitBoard(\"" + VALID_1_FILENAME + BINARY + "\")",
+					testCircuitBoardBinary(VALID_1_FILENAME, VALID_1));
+			printTest("CircuitBoard(\"" + VALID_2_FILENAME + BINARY + "\")",
+					testCircuitBoardBinary(VALID_2_FILENAME, VALID_2));
+			printTest("CircuitBoard(\"" + VALID_3_FILENAME + BINARY + "\")",
+					testCircuitBoardBinary(VALID_3_FILENAME, VALID_3));
+			printTest("CircuitBoard(\"" + VALID_4_FILENAME + BINARY + "\")",
+					testCircuitBoardBinary(VALID_4_FILENAME, VALID_4));
+			printTest("CircuitBoard(\"" + VALID_5_FILENAME + BINARY + "\")",
+					testCircuitBoardBinary(VALID_5_FILENAME, VALID_5));
+			printTest("CircuitBoard(\"" + VALID_6_FILENAME + BINARY + "\")",
+					testCircuitBoardBinary(VALID_6_FILENAME, VALID_6));
+			printTest("CircuitBoard(\"" + VALID_7_FILENAME + BINARY + "\")",
+					testCircuitBoardBinary(VALID_7_FILENAME, VALID_7));
+			printTest("CircuitBoard(\"" + VALID_8_FILENAME + BINARY + "\")",
+					testCircuitBoardBinary(VALID_8_FILENAME, VALID_8));
+			printTest("CircuitBoard(\"" + VALID_9_FILENAME + BINARY + "\")",
+					testCircuitBoardBinary(VALID_9_FILENAME, VALID_9));
+			printTest("CircuitBoard(\"" + VALID_10_FILENAME + BINARY + "\")",
+					testCircuitBoardBinary(VALID_10_FILENAME, VALID_10));
+			printTest("java CircuitTracer -b -c " + VALID_1_FILENAME + BINARY,
+					testCircuitTracerValidFileCmdLine(SHORTEST, CONSOLE, VALID_1_FILENAME + BINARY, VALID_1_SOLUTIONS));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE CIRCUITBOARD BINARY FILE FORMAT TESTS\n");
+			e.printStackTrace();
+		}
+
+		System.out.println("*************************");
+		System.out.println("Concurrent Storage Tests");
+		System.out.println("*************************\n");
+		try {
+			printTest("Storage(treiber) shared by " + STRESS_THREADS + " threads",
+					testConcurrentStorage(Storage.DataStructure.treiber));
+			printTest("Storage(concurrent) shared by " + STRESS_THREADS + " threads",
+					testConcurrentStorage(Storage.DataStructure.concurrent));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE CONCURRENT STORAGE TESTS\n");
+			e.printStackTrace();
+		}
+
+		System.out.println("***********************");
+		System.out.println("Priority Storage Tests");
+		System.out.println("***********************\n");
+		try {
+			printTest("Storage(priority) of Integers", testPriorityStorage(null, 0));
+			printTest("BruteForceSearch(Storage(priority)) on " + VALID_4_FILENAME,
+					testPriorityStorage(VALID_4_FILENAME, VALID_4_SOLUTIONS.length));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE PRIORITY STORAGE TESTS\n");
+			e.printStackTrace();
+		}
+
+		System.out.println("*********************");
+		System.out.println("Search Metrics Tests");
+		System.out.println("*********************\n");
+		try {
+			printTest("-s metrics on " + VALID_8_FILENAME,
+					testSearchMetrics(STACK, VALID_8_FILENAME, VALID_8_SOLUTIONS.length));
+			printTest("-q metrics on " + VALID_8_FILENAME,
+					testSearchMetrics(QUEUE, VALID_8_FILENAME, VALID_8_SOLUTIONS.length));
+			printTest("-b metrics on " + VALID_8_FILENAME,
+					testSearchMetrics(SHORTEST, VALID_8_FILENAME, VALID_8_SOLUTIONS.length));
+			printTest("-a metrics on " + VALID_8_FILENAME,
+					testSearchMetrics(ASTAR, VALID_8_FILENAME, VALID_8_SOLUTIONS.length));
+			printTest("-d metrics on " + VALID_8_FILENAME,
+					testSearchMetrics(BIDIRECTIONAL, VALID_8_FILENAME, VALID_8_SOLUTIONS.length));
+			printTest("-p metrics on " + VALID_8_FILENAME,
+					testSearchMetrics(PARALLEL, VALID_8_FILENAME, VALID_8_SOLUTIONS.length));
+			printTest("-m metrics on " + VALID_8_FILENAME,
+					testSearchMetrics(SHARED, VALID_8_FILENAME, VALID_8_SOLUTIONS.length));
+			printTest("-i metrics on " + VALID_8_FILENAME,
+					testSearchMetrics(DEEPENING, VALID_8_FILENAME, VALID_8_SOLUTIONS.length));
+			printTest("-w metrics on " + VALID_8_FILENAME,
+					testSearchMetrics(WEIGHTED, VALID_8_FILENAME, VALID_8_SOLUTIONS.length));
+			printTest("-s metrics on " + VALID_0_FILENAME,
+					testSearchMetrics(STACK, VALID_0_FILENAME, 0));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE SEARCH METRICS TESTS\n");
+			e.printStackTrace();
+		}
+
+		System.out.println("*************************");
+		System.out.println("Incremental Tracer Tests");
+		System.out.println("*************************\n");
+		try {
+			printTest("IncrementalTracer(\"" + VALID_4_FILENAME + "\") with " + EDITS + " edits",
+					testIncrementalTracer(VALID_4_FILENAME, 4));
+			printTest("IncrementalTracer(\"" + VALID_8_FILENAME + "\") with " + EDITS + " edits",
+					testIncrementalTracer(VALID_8_FILENAME, 8));
+			printTest("IncrementalTracer(\"" + VALID_10_FILENAME + "\") with " + EDITS + " edits",
+					testIncrementalTracer(VALID_10_FILENAME, 10));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE INCREMENTAL TRACER TESTS\n");
+			e.printStackTrace();
+		}
+
+		System.out.println("*******************");
+		System.out.println("Batch Tracer Tests");
+		System.out.println("*******************\n");
+		try {
+			printTest("java BatchTracer -b valid[14].dat " + BATCH_DIRECTORY + " with " + VALID_1_FILENAME
+					+ ".out unwritable", testBatchTracerFailure());
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE BATCH TRACER TESTS\n");
+			e.printStackTrace();
+		}
+
+		System.out.println("***********************");
+		System.out.println("Multi-Net Router Tests");
+		System.out.println("***********************\n");
+		try {
+			printTest("MultiNetRouter on " + MULTI_NET_1_FILENAME, testMultiNetRouter(MULTI_NET_1_FILENAME, 3));
+			printTest("MultiNetRouter on " + MULTI_NET_2_FILENAME, testMultiNetRouter(MULTI_NET_2_FILENAME, 2));
+			printTest("MultiNetRouter on " + MULTI_NET_3_FILENAME, testMultiNetRouter(MULTI_NET_3_FILENAME, 1));
+			printTest("MultiNetBoard(\"" + MULTI_NET_INVALID_1_FILENAME + "\")",
+					testMultiNetRouter(MULTI_NET_INVALID_1_FILENAME, -1));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE MULTI-NET ROUTER TESTS\n");
+			e.printStackTrace();
+		}
+
+		System.out.println("**********************");
+		System.out.println("Weighted Search Tests");
+		System.out.println("**********************\n");
+		try {
+			printTest("CircuitBoard(\"" + WEIGHTED_1_FILENAME + "\") cost layer",
+					testCircuitBoardCosts(WEIGHTED_1_FILENAME, WEIGHTED_1, WEIGHTED_1_COSTS));
+			printTest("CircuitBoard(\"" + WEIGHTED_INVALID_1_FILENAME + "\")",
+					testCircuitBoard(WEIGHTED_INVALID_1_FILENAME, WEIGHTED_1, Result.InvalidFileFormat));
+			printTest("CircuitBoard(\"" + WEIGHTED_INVALID_2_FILENAME + "\")",
+					testCircuitBoard(WEIGHTED_INVALID_2_FILENAME, WEIGHTED_1, Result.InvalidFileFormat));
+			printTest("CircuitBoard(\"" + WEIGHTED_INVALID_3_FILENAME + "\")",
+					testCircuitBoard(WEIGHTED_INVALID_3_FILENAME, WEIGHTED_1, Result.InvalidFileFormat));
+			printTest("CircuitBoard(\"" + WEIGHTED_INVALID_4_FILENAME + "\")",
+					testCircuitBoard(WEIGHTED_INVALID_4_FILENAME, WEIGHTED_1, Result.InvalidFileFormat));
+			printTest("WeightedSearch(0) on " + WEIGHTED_1_FILENAME,
+					testWeightedSearch(WEIGHTED_1_FILENAME, 0, 6, WEIGHTED_1_SOLUTIONS));
+			printTest("WeightedSearch(2) on " + WEIGHTED_1_FILENAME,
+					testWeightedSearch(WEIGHTED_1_FILENAME, 2, 8, WEIGHTED_1_SOLUTIONS));
+			printTest("WeightedSearch(0) on " + TURNS_1_FILENAME,
+					testWeightedSearch(TURNS_1_FILENAME, 0, 3, TURNS_1_SOLUTIONS));
+			printTest("WeightedSearch(1) on " + TURNS_1_FILENAME,
+					testWeightedSearch(TURNS_1_FILENAME, 1, 4, TURNS_1_FEWEST_TURNS));
+			printTest("java CircuitTracer -t -c " + TURNS_1_FILENAME,
+					testCircuitTracerValidFileCmdLine(FEWEST_TURNS, CONSOLE, TURNS_1_FILENAME, TURNS_1_FEWEST_TURNS));
+			printTest("WeightedSearch.fewestTurns() on " + VALID_1_FILENAME, testFewestTurns(VALID_1_FILENAME));
+			printTest("WeightedSearch.fewestTurns() on " + VALID_4_FILENAME, testFewestTurns(VALID_4_FILENAME));
+			printTest("WeightedSearch.fewestTurns() on " + VALID_8_FILENAME, testFewestTurns(VALID_8_FILENAME));
+			printTest("WeightedSearch.fewestTurns() on " + VALID_10_FILENAME, testFewestTurns(VALID_10_FILENAME));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE WEIGHTED SEARCH TESTS\n");
+			e.printStackTrace();
+		}
+
+		System.out.println("*************************");
+		System.out.println("Jump Point Search Tests");
+		System.out.println("*************************\n");
+		try {
+			printTest("JumpPointSearch on " + VALID_1_FILENAME, testJumpPointSearch(VALID_1_FILENAME));
+			printTest("JumpPointSearch on " + VALID_3_FILENAME, testJumpPointSearch(VALID_3_FILENAME));
+			printTest("JumpPointSearch on " + VALID_4_FILENAME, testJumpPointSearch(VALID_4_FILENAME));
+			printTest("JumpPointSearch on " + VALID_6_FILENAME, testJumpPointSearch(VALID_6_FILENAME));
+			printTest("JumpPointSearch on " + VALID_8_FILENAME, testJumpPointSearch(VALID_8_FILENAME));
+			printTest("JumpPointSearch on " + VALID_10_FILENAME, testJumpPointSearch(VALID_10_FILENAME));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE JUMP POINT SEARCH TESTS\n");
+			e.printStackTrace();
+		}
+
+		System.out.println("**********************");
+		System.out.println("Board Generator Tests");
+		System.out.println("**********************\n");
+		try {
+			printTest("BoardGenerator maze 21x21", testBoardGenerator(BoardGenerator.Layout.maze, 21, 21, 1));
+			printTest("BoardGenerator maze 20x15", testBoardGenerator(BoardGenerator.Layout.maze, 20, 15, 1));
+			printTest("BoardGenerator spiral 20x20", testBoardGenerator(BoardGenerator.Layout.spiral, 20, 20, 1));
+			printTest("BoardGenerator spiral 7x12", testBoardGenerator(BoardGenerator.Layout.spiral, 7, 12, 1));
+			printTest("BoardGenerator open 6x6", testBoardGenerator(BoardGenerator.Layout.open, 6, 6, 252));
+			printTest("BoardGenerator random 30x30", testBoardGenerator(BoardGenerator.Layout.random, 30, 30, -1));
+			printTest("BoardGenerator maze 2x10", testBoardGenerator(BoardGenerator.Layout.maze, 2, 10, -2));
+			printTest("java BoardGenerator maze 15x9 7 " + GENERATED_FILENAME,
+					testBoardGeneratorCmdLine(BoardGenerator.Layout.maze, 15, 9, 7));
+			printTest("TraceState along spiral 40x40", testTraceStateAlongSpiral(40));
+		} catch (Exception e) {
+			System.out.printf("***UNABLE TO RUN/COMPLETE BOARD GENERATOR TESTS\n");
+			e.printStackTrace();
+		}
+
 		System.out.println("************************************");
 		System.out.println("CircuitTracer Valid Input File Tests");
 		System.out.println("************************************\n");
@@ -223,6 +455,274 @@ public class CircuitTracerTester {
 					testCircuitTracerValidFile(STACK, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
 			printTest("CircuitTracer({\"-q\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
 					testCircuitTracerValidFile(QUEUE, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+			printTest("java CircuitTracer -b -c " + VALID_1_FILENAME,
+					testCircuitTracerValidFileCmdLine(SHORTEST, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-b\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHORTEST, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-b\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHORTEST, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+			printTest("CircuitTracer({\"-b\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHORTEST, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+			printTest("CircuitTracer({\"-b\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHORTEST, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+			printTest("CircuitTracer({\"-b\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHORTEST, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+			printTest("CircuitTracer({\"-b\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHORTEST, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+			printTest("CircuitTracer({\"-b\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHORTEST, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+			printTest("CircuitTracer({\"-b\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHORTEST, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+			printTest("CircuitTracer({\"-b\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHORTEST, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+			printTest("CircuitTracer({\"-b\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHORTEST, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+			printTest("java CircuitTracer -a -c " + VALID_1_FILENAME,
+					testCircuitTracerValidFileCmdLine(ASTAR, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-a\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+					testCircuitTracerValidFile(ASTAR, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-a\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+					testCircuitTracerValidFile(ASTAR, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+			printTest("CircuitTracer({\"-a\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+					testCircuitTracerValidFile(ASTAR, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+			printTest("CircuitTracer({\"-a\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+					testCircuitTracerValidFile(ASTAR, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+			printTest("CircuitTracer({\"-a\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+					testCircuitTracerValidFile(ASTAR, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+			printTest("CircuitTracer({\"-a\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+					testCircuitTracerValidFile(ASTAR, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+			printTest("CircuitTracer({\"-a\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(ASTAR, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+			printTest("CircuitTracer({\"-a\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+					testCircuitTracerValidFile(ASTAR, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+			printTest("CircuitTracer({\"-a\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+					testCircuitTracerValidFile(ASTAR, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+			printTest("CircuitTracer({\"-a\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+					testCircuitTracerValidFile(ASTAR, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+			printTest("java CircuitTracer -p -c " + VALID_1_FILENAME,
+					testCircuitTracerValidFileCmdLine(PARALLEL, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+					testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+					testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+					testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+					testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+					testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+					testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+					testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+					testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+					testCircuitTracerValidFile(PARALLEL, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+			printTest("CircuitTracer({\"-s\", \"-c\", \"-prune\" \"" + VALID_1_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { STACK, CONSOLE, PRUNE, VALID_1_FILENAME }, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-s\", \"-c\", \"-prune\" \"" + VALID_2_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { STACK, CONSOLE, PRUNE, VALID_2_FILENAME }, VALID_2_SOLUTIONS));
+			printTest("CircuitTracer({\"-s\", \"-c\", \"-prune\" \"" + VALID_3_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { STACK, CONSOLE, PRUNE, VALID_3_FILENAME }, VALID_3_SOLUTIONS));
+			printTest("CircuitTracer({\"-s\", \"-c\", \"-prune\" \"" + VALID_4_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { STACK, CONSOLE, PRUNE, VALID_4_FILENAME }, VALID_4_SOLUTIONS));
+			printTest("CircuitTracer({\"-s\", \"-c\", \"-prune\" \"" + VALID_5_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { STACK, CONSOLE, PRUNE, VALID_5_FILENAME }, VALID_5_SOLUTIONS));
+			printTest("CircuitTracer({\"-s\", \"-c\", \"-prune\" \"" + VALID_6_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { STACK, CONSOLE, PRUNE, VALID_6_FILENAME }, VALID_6_SOLUTIONS));
+			printTest("CircuitTracer({\"-s\", \"-c\", \"-prune\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { STACK, CONSOLE, PRUNE, VALID_7_FILENAME }, VALID_7_SOLUTIONS));
+			printTest("CircuitTracer({\"-s\", \"-c\", \"-prune\" \"" + VALID_8_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { STACK, CONSOLE, PRUNE, VALID_8_FILENAME }, VALID_8_SOLUTIONS));
+			printTest("CircuitTracer({\"-s\", \"-c\", \"-prune\" \"" + VALID_9_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { STACK, CONSOLE, PRUNE, VALID_9_FILENAME }, VALID_9_SOLUTIONS));
+			printTest("CircuitTracer({\"-s\", \"-c\", \"-prune\" \"" + VALID_10_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { STACK, CONSOLE, PRUNE, VALID_10_FILENAME }, VALID_10_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\", \"-prune\" \"" + VALID_1_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { PARALLEL, CONSOLE, PRUNE, VALID_1_FILENAME }, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\", \"-prune\" \"" + VALID_2_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { PARALLEL, CONSOLE, PRUNE, VALID_2_FILENAME }, VALID_2_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\", \"-prune\" \"" + VALID_3_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { PARALLEL, CONSOLE, PRUNE, VALID_3_FILENAME }, VALID_3_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\", \"-prune\" \"" + VALID_4_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { PARALLEL, CONSOLE, PRUNE, VALID_4_FILENAME }, VALID_4_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\", \"-prune\" \"" + VALID_5_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { PARALLEL, CONSOLE, PRUNE, VALID_5_FILENAME }, VALID_5_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\", \"-prune\" \"" + VALID_6_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { PARALLEL, CONSOLE, PRUNE, VALID_6_FILENAME }, VALID_6_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\", \"-prune\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { PARALLEL, CONSOLE, PRUNE, VALID_7_FILENAME }, VALID_7_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\", \"-prune\" \"" + VALID_8_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { PARALLEL, CONSOLE, PRUNE, VALID_8_FILENAME }, VALID_8_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\", \"-prune\" \"" + VALID_9_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { PARALLEL, CONSOLE, PRUNE, VALID_9_FILENAME }, VALID_9_SOLUTIONS));
+			printTest("CircuitTracer({\"-p\", \"-c\", \"-prune\" \"" + VALID_10_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { PARALLEL, CONSOLE, PRUNE, VALID_10_FILENAME }, VALID_10_SOLUTIONS));
+			printTest("java CircuitTracer -d -c " + VALID_1_FILENAME,
+					testCircuitTracerValidFileCmdLine(BIDIRECTIONAL, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-d\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+					testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-d\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+					testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+			printTest("CircuitTracer({\"-d\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+					testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+			printTest("CircuitTracer({\"-d\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+					testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+			printTest("CircuitTracer({\"-d\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+					testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+			printTest("CircuitTracer({\"-d\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+					testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+			printTest("CircuitTracer({\"-d\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+			printTest("CircuitTracer({\"-d\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+					testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+			printTest("CircuitTracer({\"-d\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+					testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+			printTest("CircuitTracer({\"-d\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+					testCircuitTracerValidFile(BIDIRECTIONAL, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+			printTest("CircuitTracer({\"-s\", \"-c\", \"-first\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { STACK, CONSOLE, FIRST, VALID_7_FILENAME }, VALID_7_SOLUTIONS, 1));
+			printTest("CircuitTracer({\"-q\", \"-c\", \"-first\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { QUEUE, CONSOLE, FIRST, VALID_7_FILENAME }, VALID_7_SOLUTIONS, 1));
+			printTest("CircuitTracer({\"-b\", \"-c\", \"-first\" \"" + VALID_1_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { SHORTEST, CONSOLE, FIRST, VALID_1_FILENAME }, VALID_1_SOLUTIONS, 1));
+			printTest("CircuitTracer({\"-a\", \"-c\", \"-max\", \"2\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { ASTAR, CONSOLE, MAX, "2", VALID_7_FILENAME }, VALID_7_SOLUTIONS, 2));
+			printTest("CircuitTracer({\"-d\", \"-c\", \"-max\", \"2\" \"" + VALID_8_FILENAME + "\"})",
+					testCircuitTracerValidFile(new String[] { BIDIRECTIONAL, CONSOLE, MAX, "2", VALID_8_FILENAME }, VALID_8_SOLUTIONS, 2));
+			printTest("java CircuitTracer -q -c -count " + VALID_1_FILENAME,
+					testCircuitTracerCountCmdLine(QUEUE, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS.length));
+			printTest("java CircuitTracer -q -c -count " + VALID_2_FILENAME,
+					testCircuitTracerCountCmdLine(QUEUE, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS.length));
+			printTest("java CircuitTracer -q -c -count " + VALID_3_FILENAME,
+					testCircuitTracerCountCmdLine(QUEUE, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS.length));
+			printTest("java CircuitTracer -q -c -count " + VALID_4_FILENAME,
+					testCircuitTracerCountCmdLine(QUEUE, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS.length));
+			printTest("java CircuitTracer -q -c -count " + VALID_5_FILENAME,
+					testCircuitTracerCountCmdLine(QUEUE, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS.length));
+			printTest("java CircuitTracer -q -c -count " + VALID_6_FILENAME,
+					testCircuitTracerCountCmdLine(QUEUE, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS.length));
+			printTest("java CircuitTracer -q -c -count " + VALID_7_FILENAME,
+					testCircuitTracerCountCmdLine(QUEUE, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS.length));
+			printTest("java CircuitTracer -q -c -count " + VALID_8_FILENAME,
+					testCircuitTracerCountCmdLine(QUEUE, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS.length));
+			printTest("java CircuitTracer -q -c -count " + VALID_9_FILENAME,
+					testCircuitTracerCountCmdLine(QUEUE, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS.length));
+			printTest("java CircuitTracer -q -c -count " + VALID_10_FILENAME,
+					testCircuitTracerCountCmdLine(QUEUE, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS.length));
+			printTest("java CircuitTracer -sa -c " + VALID_1_FILENAME,
+					testCircuitTracerValidFileCmdLine(ARRAY_STACK, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-sa\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+					testCircuitTracerValidFile(ARRAY_STACK, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-sa\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+					testCircuitTracerValidFile(ARRAY_STACK, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+			printTest("CircuitTracer({\"-sa\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+					testCircuitTracerValidFile(ARRAY_STACK, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+			printTest("CircuitTracer({\"-sa\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+					testCircuitTracerValidFile(ARRAY_STACK, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+			printTest("CircuitTracer({\"-sa\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+					testCircuitTracerValidFile(ARRAY_STACK, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+			printTest("CircuitTracer({\"-sa\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+					testCircuitTracerValidFile(ARRAY_STACK, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+			printTest("CircuitTracer({\"-sa\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(ARRAY_STACK, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+			printTest("CircuitTracer({\"-sa\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+					testCircuitTracerValidFile(ARRAY_STACK, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+			printTest("CircuitTracer({\"-sa\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+					testCircuitTracerValidFile(ARRAY_STACK, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+			printTest("CircuitTracer({\"-sa\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+					testCircuitTracerValidFile(ARRAY_STACK, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+			printTest("java CircuitTracer -qa -c " + VALID_1_FILENAME,
+					testCircuitTracerValidFileCmdLine(RING_BUFFER, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-qa\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+					testCircuitTracerValidFile(RING_BUFFER, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-qa\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+					testCircuitTracerValidFile(RING_BUFFER, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+			printTest("CircuitTracer({\"-qa\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+					testCircuitTracerValidFile(RING_BUFFER, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+			printTest("CircuitTracer({\"-qa\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+					testCircuitTracerValidFile(RING_BUFFER, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+			printTest("CircuitTracer({\"-qa\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+					testCircuitTracerValidFile(RING_BUFFER, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+			printTest("CircuitTracer({\"-qa\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+					testCircuitTracerValidFile(RING_BUFFER, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+			printTest("CircuitTracer({\"-qa\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(RING_BUFFER, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+			printTest("CircuitTracer({\"-qa\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+					testCircuitTracerValidFile(RING_BUFFER, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+			printTest("CircuitTracer({\"-qa\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+					testCircuitTracerValidFile(RING_BUFFER, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+			printTest("CircuitTracer({\"-qa\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+					testCircuitTracerValidFile(RING_BUFFER, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+			printTest("java CircuitTracer -m -c " + VALID_1_FILENAME,
+					testCircuitTracerValidFileCmdLine(SHARED, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-m\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHARED, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-m\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHARED, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+			printTest("CircuitTracer({\"-m\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHARED, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+			printTest("CircuitTracer({\"-m\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHARED, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+			printTest("CircuitTracer({\"-m\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHARED, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+			printTest("CircuitTracer({\"-m\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHARED, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+			printTest("CircuitTracer({\"-m\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHARED, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+			printTest("CircuitTracer({\"-m\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHARED, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+			printTest("CircuitTracer({\"-m\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHARED, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+			printTest("CircuitTracer({\"-m\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+					testCircuitTracerValidFile(SHARED, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+			printTest("java CircuitTracer -i -c " + VALID_1_FILENAME,
+					testCircuitTracerValidFileCmdLine(DEEPENING, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-i\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+					testCircuitTracerValidFile(DEEPENING, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-i\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+					testCircuitTracerValidFile(DEEPENING, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+			printTest("CircuitTracer({\"-i\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+					testCircuitTracerValidFile(DEEPENING, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+			printTest("CircuitTracer({\"-i\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+					testCircuitTracerValidFile(DEEPENING, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+			printTest("CircuitTracer({\"-i\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+					testCircuitTracerValidFile(DEEPENING, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+			printTest("CircuitTracer({\"-i\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+					testCircuitTracerValidFile(DEEPENING, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+			printTest("CircuitTracer({\"-i\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(DEEPENING, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+			printTest("CircuitTracer({\"-i\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+					testCircuitTracerValidFile(DEEPENING, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+			printTest("CircuitTracer({\"-i\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+					testCircuitTracerValidFile(DEEPENING, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+			printTest("CircuitTracer({\"-i\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+					testCircuitTracerValidFile(DEEPENING, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
+			printTest("java CircuitTracer -w -c " + VALID_1_FILENAME,
+					testCircuitTracerValidFileCmdLine(WEIGHTED, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-w\", \"-c\" \"" + VALID_1_FILENAME + "\"})",
+					testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_1_FILENAME, VALID_1_SOLUTIONS));
+			printTest("CircuitTracer({\"-w\", \"-c\" \"" + VALID_2_FILENAME + "\"})",
+					testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_2_FILENAME, VALID_2_SOLUTIONS));
+			printTest("CircuitTracer({\"-w\", \"-c\" \"" + VALID_3_FILENAME + "\"})",
+					testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_3_FILENAME, VALID_3_SOLUTIONS));
+			printTest("CircuitTracer({\"-w\", \"-c\" \"" + VALID_4_FILENAME + "\"})",
+					testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_4_FILENAME, VALID_4_SOLUTIONS));
+			printTest("CircuitTracer({\"-w\", \"-c\" \"" + VALID_5_FILENAME + "\"})",
+					testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_5_FILENAME, VALID_5_SOLUTIONS));
+			printTest("CircuitTracer({\"-w\", \"-c\" \"" + VALID_6_FILENAME + "\"})",
+					testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_6_FILENAME, VALID_6_SOLUTIONS));
+			printTest("CircuitTracer({\"-w\", \"-c\" \"" + VALID_7_FILENAME + "\"})",
+					testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_7_FILENAME, VALID_7_SOLUTIONS));
+			printTest("CircuitTracer({\"-w\", \"-c\" \"" + VALID_8_FILENAME + "\"})",
+					testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_8_FILENAME, VALID_8_SOLUTIONS));
+			printTest("CircuitTracer({\"-w\", \"-c\" \"" + VALID_9_FILENAME + "\"})",
+					testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_9_FILENAME, VALID_9_SOLUTIONS));
+			printTest("CircuitTracer({\"-w\", \"-c\" \"" + VALID_10_FILENAME + "\"})",
+					testCircuitTracerValidFile(WEIGHTED, CONSOLE, VALID_10_FILENAME, VALID_10_SOLUTIONS));
 		} catch (Exception e) {
 			System.out.printf("***UNABLE TO RUN/COMPLETE CIRCUITTRACER TESTS ON VALID INPUT FILES\n");
 			e.printStackTrace();
@@ -285,6 +785,10 @@ public class CircuitTracerTester {
 					testCircuitTracerInvalidFile(STACK, CONSOLE, INVALID_12_FILENAME));
 			printTest("CircuitTracer({\"-q\", \"-c\" \"" + INVALID_12_FILENAME + "\"})",
 					testCircuitTracerInvalidFile(QUEUE, CONSOLE, INVALID_12_FILENAME));
+			printTest("CircuitTracer({\"-s\", \"-c\" \"" + INVALID_13_FILENAME + "\"})",
+					testCircuitTracerInvalidFile(STACK, CONSOLE, INVALID_13_FILENAME));
+			printTest("CircuitTracer({\"-q\", \"-c\" \"" + INVALID_13_FILENAME + "\"})",
+					testCircuitTracerInvalidFile(QUEUE, CONSOLE, INVALID_13_FILENAME));
 			// invalid file name
 			printTest("CircuitTracer({\"-s\", \"-c\" \"" + NO_SUCH + "\"})",
 					testCircuitTracerInvalidFile(STACK, CONSOLE, NO_SUCH));
@@ -400,6 +904,633 @@ public class CircuitTracerTester {
 		return result == expectedResult;
 	}
 
+	/**
+	 * Confirm pruneUnreachable() closes the expected number of open positions
+	 * and leaves the board's contents unchanged, pruned positions still
+	 * reading as 'O' but no longer open.
+	 * 
+	 * @param fileName       valid input file
+	 * @param contents       expected board contents
+	 * @param expectedPruned expected number of positions closed
+	 * @return true if test passes, else false
+	 */
+	private boolean testPruneUnreachable(String fileName, char[][] contents, int expectedPruned) {
+		totalTests += 1;
+		System.out.printf("Testing CircuitBoard(\"%s\").pruneUnreachable()\n", fileName);
+		try {
+			CircuitBoard board = new CircuitBoard(fileName);
+			int pruned = board.pruneUnreachable();
+			int closed = 0;
+			boolean result = pruned == expectedPruned;
+			for (int row = 0; row < contents.length; row++) {
+				for (int col = 0; col < contents[row].length; col++) {
+					if (contents[row][col] != board.charAt(row, col)) {
+						result = false;
+					}
+					if (board.charAt(row, col) == 'O' && !board.isOpen(row, col)) {
+						closed++;
+					}
+				}
+			}
+			result = result && closed == expectedPruned;
+			System.out.printf("Pruned %d positions, %d no longer open, expected %d.\n", pruned, closed, expectedPruned);
+			return result;
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		}
+	}
+
+	/**
+	 * Convert a valid text input file to the binary format and confirm the
+	 * CircuitBoard read back from the binary file has the expected contents
+	 * 
+	 * @param fileName text input file, converted to fileName + BINARY
+	 * @param contents expected board contents
+	 * @return true if the binary board matches contents
+	 */
+	private boolean testCircuitBoardBinary(String fileName, char[][] contents) {
+		try {
+			new CircuitBoard(fileName).saveBinary(fileName + BINARY);
+		} catch (Exception e) {
+			totalTests += 1;
+			System.out.printf("Unable to convert %s to binary\n", fileName);
+			e.printStackTrace(System.out);
+			return false;
+		}
+		return testCircuitBoard(fileName + BINARY, contents, Result.MatchingContents);
+	}
+
+	/////////////////////////////
+	// XXX Priority Storage Tests
+	/////////////////////////////
+
+	/**
+	 * Confirm the registered priority Storage retrieves Integers smallest
+	 * first, or that a brute force search over it, which stores TraceStates,
+	 * finds every shortest path of a board
+	 * 
+	 * @param fileName board to search, null to test Integers
+	 * @param expectedPaths number of shortest paths of the board
+	 * @return true if test passes, else false
+	 */
+	private boolean testPriorityStorage(String fileName, int expectedPaths) {
+		totalTests += 1;
+		try {
+			if (fileName == null) {
+				System.out.println("Testing Storage(priority) of Integers");
+				Storage<Integer> storage = new Storage<Integer>(Storage.DataStructure.priority);
+				int[] values = { 5, 1, 4, 2, 3 };
+				for (int value : values) {
+					storage.store(value);
+				}
+				for (int expected = 1; expected <= values.length; expected++) {
+					if (storage.retrieve() != expected) {
+						return false;
+					}
+				}
+				return storage.isEmpty();
+			}
+			System.out.printf("Testing BruteForceSearch(Storage(priority)) on %s\n", fileName);
+			ArrayList<TraceState> paths = new BruteForceSearch(
+					new Storage<TraceState>(Storage.DataStructure.priority)).findBestPaths(new CircuitBoard(fileName));
+			System.out.printf("Found %d shortest paths, expected %d.\n", paths.size(), expectedPaths);
+			return paths.size() == expectedPaths;
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		}
+	}
+
+	/////////////////////////////
+	// XXX Concurrent Storage Tests
+	/////////////////////////////
+
+	/**
+	 * Confirm a thread-safe Storage neither loses nor duplicates elements when
+	 * several threads store and retrieve at the same time. Each thread stores
+	 * its own range of values, retrieving one value after every second store,
+	 * then the threads drain the Storage between them. Every value must be
+	 * retrieved exactly once.
+	 * 
+	 * @param structure thread-safe data structure to test
+	 * @return true if test passes, else false
+	 */
+	private boolean testConcurrentStorage(Storage.DataStructure structure) {
+		totalTests += 1;
+		System.out.printf("Testing %d threads sharing Storage(%s)\n", STRESS_THREADS, structure);
+		Storage<Integer> storage = new Storage<Integer>(structure);
+		AtomicIntegerArray retrieved = new AtomicIntegerArray(STRESS_THREADS * STRESS_ELEMENTS);
+		ExecutorService executor = Executors.newFixedThreadPool(STRESS_THREADS);
+		for (int t = 0; t < STRESS_THREADS; t++) {
+			int first = t * STRESS_ELEMENTS;
+			executor.submit(() -> {
+				for (int i = 0; i < STRESS_ELEMENTS; i++) {
+					storage.store(first + i);
+					if ((i & 1) == 1) {
+						Integer value = storage.poll();
+						if (value != null) {
+							retrieved.incrementAndGet(value);
+						}
+					}
+				}
+				for (Integer value = storage.poll(); value != null; value = storage.poll()) {
+					retrieved.incrementAndGet(value);
+				}
+			});
+		}
+		try {
+			executor.shutdown();
+			if (!executor.awaitTermination(TIMEOUT, TimeUnit.SECONDS)) {
+				System.out.println("Threads have exceeded reasonable completion time");
+				executor.shutdownNow();
+				return false;
+			}
+		} catch (InterruptedException e) {
+			executor.shutdownNow();
+			return false;
+		}
+		// each thread drains after its last store, so nothing is left behind
+		boolean result = storage.isEmpty();
+		for (int i = 0; i < retrieved.length(); i++) {
+			if (retrieved.get(i) != 1) {
+				System.out.printf("Value %d retrieved %d times\n", i, retrieved.get(i));
+				result = false;
+				break;
+			}
+		}
+		if (result) {
+			System.out.println("Every value retrieved exactly once.");
+		}
+		return result;
+	}
+
+	/////////////////////////
+	// XXX Search Metrics Tests
+	/////////////////////////
+
+	/**
+	 * Confirm a search engine's metrics agree with the solutions it found:
+	 * at least one state was created for a solvable board, storage never held
+	 * more states than were created, and a first solution time is recorded
+	 * only when there is a solution, within the time of the whole search.
+	 * 
+	 * @param storage           storage type argument selecting the engine
+	 * @param fileName          input file
+	 * @param expectedSolutions number of shortest solutions
+	 * @return true if test passes, else false
+	 */
+	private boolean testSearchMetrics(String storage, String fileName, int expectedSolutions) {
+		totalTests += 1;
+		System.out.printf("Testing %s metrics on %s\n", storage, fileName);
+		try {
+			CircuitBoard board = new CircuitBoard(fileName);
+			SearchEngine engine = CircuitTracer.getEngine(storage, false);
+			BestPathCollector collector = new BestPathCollector();
+			engine.search(board, collector);
+			SearchMetrics metrics = engine.getMetrics();
+			boolean result = collector.getBestPaths().size() == expectedSolutions
+					&& metrics.getStatesCreated() >= metrics.getPeakStorage()
+					&& (expectedSolutions == 0 || metrics.getStatesCreated() > 0)
+					&& (expectedSolutions == 0) == (metrics.getFirstSolutionNanos() < 0)
+					&& metrics.getFirstSolutionNanos() <= metrics.getSearchNanos();
+			System.out.println((result ? "Metrics agree" : "Metrics do NOT agree") + " with the search: " + metrics.toJson());
+			return result;
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		}
+	}
+
+	/////////////////////////////
+	// XXX Incremental Tracer Tests
+	/////////////////////////////
+
+	/**
+	 * Confirm IncrementalTracer keeps finding the same shortest traces as a
+	 * fresh ShortestPathSearch of the edited board while random positions
+	 * are opened and closed. The seed is the test's board number, so
+	 * failures can be repeated.
+	 * 
+	 * @param fileName input file
+	 * @param seed     seed for the random edits
+	 * @return true if test passes, else false
+	 */
+	private boolean testIncrementalTracer(String fileName, long seed) {
+		totalTests += 1;
+		System.out.printf("Testing IncrementalTracer(\"%s\") with %d edits\n", fileName, EDITS);
+		try {
+			IncrementalTracer tracer = new IncrementalTracer(new CircuitBoard(fileName));
+			Random random = new Random(seed);
+			for (int edit = 0; edit <= EDITS; edit++) {
+				if (edit > 0) {
+					CircuitBoard board = tracer.getBoard();
+					int row = random.nextInt(board.numRows());
+					int col = random.nextInt(board.numCols());
+					char current = board.charAt(row, col);
+					if (current == 'X') {
+						tracer.openPosition(row, col);
+					} else if (current == 'O') {
+						tracer.closePosition(row, col);
+					}
+				}
+				ArrayList<String> incremental = new ArrayList<String>();
+				for (TraceState trace : tracer.findBestPaths()) {
+					incremental.add(trace.getBoard().toString());
+				}
+				ArrayList<String> fresh = new ArrayList<String>();
+				for (TraceState trace : new ShortestPathSearch().findBestPaths(tracer.getBoard())) {
+					fresh.add(trace.getBoard().toString());
+				}
+				if (!incremental.equals(fresh)) {
+					System.out.printf("After %d edits found %d traces, expected %d\n", edit, incremental.size(), fresh.size());
+					return false;
+				}
+			}
+			System.out.println("Traces match a fresh search after every edit.");
+			return true;
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		}
+	}
+
+	///////////////////////////
+	// XXX Batch Tracer Tests
+	///////////////////////////
+
+	/**
+	 * Confirm a board whose result file cannot be written gets an error row
+	 * in BatchTracer's summary while the other boards are still solved
+	 * 
+	 * @return true if test passes, else false
+	 */
+	private boolean testBatchTracerFailure() {
+		totalTests += 1;
+		System.out.printf("Testing java BatchTracer -b valid[14].dat %s with %s.out unwritable\n", BATCH_DIRECTORY,
+				VALID_1_FILENAME);
+		// a directory in place of the result file makes writing it fail
+		File blocked = new File(BATCH_DIRECTORY, VALID_1_FILENAME + ".out");
+		try {
+			blocked.mkdirs();
+			BatchTracer.main(new String[] { "-b", "valid[14].dat", BATCH_DIRECTORY, "2" });
+			ArrayList<String> lines = new ArrayList<String>();
+			try (Scanner summary = new Scanner(new File(BATCH_DIRECTORY, "summary.csv"))) {
+				while (summary.hasNextLine()) {
+					lines.add(summary.nextLine());
+					System.out.println(lines.get(lines.size() - 1));
+				}
+			}
+			return lines.size() == 3 && lines.get(1).startsWith("\"" + VALID_1_FILENAME + "\",error:FileNotFoundException,")
+					&& lines.get(2).startsWith("\"" + VALID_4_FILENAME + "\",solved,");
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		} finally {
+			blocked.delete();
+		}
+	}
+
+	///////////////////////////
+	// XXX Multi-Net Router Tests
+	///////////////////////////
+
+	/**
+	 * Confirm MultiNetRouter routes the expected number of nets, that every
+	 * trace runs through open positions from one of its net's pins to the
+	 * other without touching another trace, and that routing with several
+	 * threads lays exactly the same traces as routing with one.
+	 * 
+	 * @param fileName       multi-net input file
+	 * @param expectedRouted number of nets that can be routed, -1 if the file is invalid
+	 * @return true if test passes, else false
+	 */
+	private boolean testMultiNetRouter(String fileName, int expectedRouted) {
+		totalTests += 1;
+		System.out.printf("Testing MultiNetRouter on %s\n", fileName);
+		try {
+			MultiNetBoard board = new MultiNetBoard(fileName);
+			MultiNetRouter.Routing routing = new MultiNetRouter(1).route(board);
+			boolean result = routing.getRoutedCount() == expectedRouted
+					&& routing.toString().equals(new MultiNetRouter(STRESS_THREADS).route(board).toString());
+			boolean[] used = new boolean[board.numRows() * board.numCols()];
+			for (int net : board.getNets()) {
+				ArrayList<Point> trace = routing.getTrace(net);
+				if (trace == null) {
+					continue;
+				}
+				Point[] pins = board.getPins(net);
+				Point previous = pins[0];
+				for (Point p : trace) {
+					int index = p.x * board.numCols() + p.y;
+					if (Math.abs(p.x - previous.x) + Math.abs(p.y - previous.y) != 1
+							|| board.cellAt(p.x, p.y) != MultiNetBoard.OPEN || used[index]) {
+						result = false;
+					}
+					used[index] = true;
+					previous = p;
+				}
+				if (Math.abs(pins[1].x - previous.x) + Math.abs(pins[1].y - previous.y) != 1) {
+					result = false;
+				}
+			}
+			System.out.print(routing);
+			System.out.printf("Routed %d nets with %d rip-ups, expected %d.\n", routing.getRoutedCount(),
+					routing.getRipUps(), expectedRouted);
+			return result;
+		} catch (InvalidFileFormatException e) {
+			System.out.println(e.toString());
+			return expectedRouted == -1;
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		}
+	}
+
+	/////////////////////////////
+	// XXX Weighted Search Tests
+	/////////////////////////////
+
+	/**
+	 * Confirm a board with a cost layer reads back the expected contents and
+	 * costs, both from the text file and from its binary copy
+	 * 
+	 * @param fileName input file with a cost layer
+	 * @param contents expected board contents
+	 * @param costs    expected cost of every position
+	 * @return true if test passes, else false
+	 */
+	private boolean testCircuitBoardCosts(String fileName, char[][] contents, int[][] costs) {
+		if (!testCircuitBoard(fileName, contents, Result.MatchingContents)) {
+			return false;
+		}
+		System.out.printf("Testing CircuitBoard(\"%s\") costs, as text and binary\n", fileName);
+		try {
+			CircuitBoard text = new CircuitBoard(fileName);
+			text.saveBinary(fileName + BINARY);
+			CircuitBoard binary = new CircuitBoard(fileName + BINARY);
+			boolean result = text.hasCosts() && binary.hasCosts();
+			for (int row = 0; row < costs.length; row++) {
+				for (int col = 0; col < costs[row].length; col++) {
+					if (text.costAt(row, col) != costs[row][col] || binary.costAt(row, col) != costs[row][col]) {
+						result = false;
+					}
+				}
+			}
+			System.out.println(result ? "Costs match expected values." : "Costs do not match expected values.");
+			return result;
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		}
+	}
+
+	/**
+	 * Confirm WeightedSearch finds the expected lowest cost and exactly the
+	 * expected traces, in order
+	 * 
+	 * @param fileName          input file
+	 * @param turnCost          cost of every bend in a trace
+	 * @param expectedCost      expected lowest trace cost
+	 * @param expectedSolutions expected traces
+	 * @return true if test passes, else false
+	 */
+	private boolean testWeightedSearch(String fileName, int turnCost, long expectedCost, char[][][] expectedSolutions) {
+		totalTests += 1;
+		System.out.printf("Testing WeightedSearch(%d) on %s\n", turnCost, fileName);
+		try {
+			WeightedSearch search = new WeightedSearch(turnCost);
+			ArrayList<TraceState> traces = search.findBestPaths(new CircuitBoard(fileName));
+			boolean result = search.getBestCost() == expectedCost && traces.size() == expectedSolutions.length;
+			for (int i = 0; result && i < traces.size(); i++) {
+				CircuitBoard solved = traces.get(i).getBoard();
+				for (int row = 0; row < expectedSolutions[i].length; row++) {
+					for (int col = 0; col < expectedSolutions[i][row].length; col++) {
+						if (solved.charAt(row, col) != expectedSolutions[i][row][col]) {
+							result = false;
+						}
+					}
+				}
+			}
+			System.out.printf("Found %d traces of cost %d, expected %d of cost %d.\n", traces.size(),
+					search.getBestCost(), expectedSolutions.length, expectedCost);
+			return result;
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		}
+	}
+
+	/**
+	 * Confirm a fewestTurns() search finds exactly the shortest traces with
+	 * the fewest bends, in order, by filtering every shortest trace
+	 * 
+	 * @param fileName valid input file
+	 * @return true if test passes, else false
+	 */
+	private boolean testFewestTurns(String fileName) {
+		totalTests += 1;
+		System.out.printf("Testing WeightedSearch.fewestTurns() on %s\n", fileName);
+		try {
+			CircuitBoard board = new CircuitBoard(fileName);
+			ArrayList<TraceState> shortest = new ShortestPathSearch().findBestPaths(board);
+			int fewest = shortest.isEmpty() ? 0 : Integer.MAX_VALUE;
+			for (TraceState trace : shortest) {
+				fewest = Math.min(fewest, countBends(board, trace));
+			}
+			ArrayList<String> expected = new ArrayList<String>();
+			for (TraceState trace : shortest) {
+				if (countBends(board, trace) == fewest) {
+					expected.add(trace.getBoard().toString());
+				}
+			}
+			WeightedSearch search = WeightedSearch.fewestTurns();
+			ArrayList<String> found = new ArrayList<String>();
+			for (TraceState trace : search.findBestPaths(board)) {
+				found.add(trace.getBoard().toString());
+			}
+			System.out.printf("Found %d traces with %d bends, expected %d of %d shortest with %d bends.\n",
+					found.size(), search.getBestTurns(), expected.size(), shortest.size(), fewest);
+			return found.equals(expected) && search.getBestTurns() == fewest;
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		}
+	}
+
+	/**
+	 * Confirm JumpPointSearch finds exactly one trace, and that it is one of
+	 * the shortest traces the breadth-first search finds, or none if there
+	 * are none
+	 * 
+	 * @param fileName valid input file
+	 * @return true if test passes, else false
+	 */
+	private boolean testJumpPointSearch(String fileName) {
+		totalTests += 1;
+		System.out.printf("Testing JumpPointSearch on %s\n", fileName);
+		try {
+			CircuitBoard board = new CircuitBoard(fileName);
+			ArrayList<String> shortest = new ArrayList<String>();
+			for (TraceState trace : new ShortestPathSearch().findBestPaths(board)) {
+				shortest.add(trace.getBoard().toString());
+			}
+			JumpPointSearch search = new JumpPointSearch();
+			ArrayList<TraceState> found = search.findBestPaths(board);
+			System.out.printf("Found %d traces expanding %d jump points, expected one of %d shortest.\n",
+					found.size(), search.getExpanded(), shortest.size());
+			if (shortest.isEmpty()) {
+				return found.isEmpty();
+			}
+			return found.size() == 1 && shortest.contains(found.get(0).getBoard().toString());
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		}
+	}
+
+	/**
+	 * @param board board the trace was found on
+	 * @param trace complete trace
+	 * @return number of times the trace changes direction between the starting and ending components
+	 */
+	private static int countBends(CircuitBoard board, TraceState trace) {
+		ArrayList<Point> points = trace.getPath();
+		points.add(0, board.getStartingPoint());
+		points.add(board.getEndingPoint());
+		int bends = 0;
+		for (int i = 2; i < points.size(); i++) {
+			Point a = points.get(i - 2);
+			Point b = points.get(i - 1);
+			Point c = points.get(i);
+			if (b.x - a.x != c.x - b.x || b.y - a.y != c.y - b.y) {
+				bends++;
+			}
+		}
+		return bends;
+	}
+
+	/////////////////////////////
+	// XXX Board Generator Tests
+	/////////////////////////////
+
+	/**
+	 * Confirm BoardGenerator builds a board of the requested size with the
+	 * starting component in the top left corner, builds the same board again
+	 * from the same seed, and leaves the expected number of shortest traces
+	 * 
+	 * @param layout board layout
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param expectedPaths number of shortest traces, -1 to leave them uncounted, or
+	 *        -2 if an IllegalArgumentException is expected
+	 * @return true if test passes, else false
+	 */
+	private boolean testBoardGenerator(BoardGenerator.Layout layout, int rows, int cols, int expectedPaths) {
+		totalTests += 1;
+		System.out.printf("Testing BoardGenerator %s %dx%d\n", layout, rows, cols);
+		try {
+			double density = BoardGenerator.defaultDensity(layout);
+			CircuitBoard board = BoardGenerator.generate(layout, rows, cols, density, rows * cols);
+			System.out.print(board);
+			if (expectedPaths >= 0) {
+				int paths = new ShortestPathSearch().findBestPaths(board).size();
+				System.out.printf("Found %d shortest traces, expected %d.\n", paths, expectedPaths);
+				if (paths != expectedPaths) {
+					return false;
+				}
+			}
+			return board.numRows() == rows && board.numCols() == cols
+					&& board.getStartingPoint().equals(new Point(0, 0))
+					&& board.toString().equals(BoardGenerator.generate(layout, rows, cols, density, rows * cols).toString());
+		} catch (IllegalArgumentException e) {
+			System.out.println(e.toString());
+			return expectedPaths == -2;
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		}
+	}
+
+	/**
+	 * Confirm a TraceState extended along the whole corridor of a spiral
+	 * board, hundreds of points past its first PathSet checkpoint, reports
+	 * every position after every step just as the board built from its path
+	 * 
+	 * @param size number of rows and columns
+	 * @return true if test passes, else false
+	 */
+	private boolean testTraceStateAlongSpiral(int size) {
+		totalTests += 1;
+		System.out.printf("Testing TraceState along spiral %dx%d\n", size, size);
+		try {
+			CircuitBoard board = BoardGenerator.generate(BoardGenerator.Layout.spiral, size, size, 0, size);
+			int open = 0;
+			for (int row = 0; row < size; row++) {
+				for (int col = 0; col < size; col++) {
+					open += board.isOpen(row, col) ? 1 : 0;
+				}
+			}
+			// the corridor leaves the starting component to the right
+			TraceState state = new TraceState(board, 0, 1);
+			while (true) {
+				CircuitBoard traced = state.getBoard();
+				for (int row = 0; row < size; row++) {
+					for (int col = 0; col < size; col++) {
+						if (state.charAt(row, col) != traced.charAt(row, col)
+								|| state.isOpen(row, col) != traced.isOpen(row, col)) {
+							System.out.printf("Position %d, %d differs after %d points.\n", row, col,
+									state.pathLength());
+							return false;
+						}
+					}
+				}
+				TraceState next = null;
+				int[][] moves = { { -1, 0 }, { 1, 0 }, { 0, -1 }, { 0, 1 } };
+				for (int[] move : moves) {
+					if (next == null && state.isOpen(state.getRow() + move[0], state.getCol() + move[1])) {
+						next = new TraceState(state, state.getRow() + move[0], state.getCol() + move[1]);
+					}
+				}
+				if (next == null) {
+					break;
+				}
+				state = next;
+			}
+			System.out.printf("Traced %d points, expected %d.\n", state.pathLength(), open);
+			return state.pathLength() == open && state.isSolution();
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		}
+	}
+
+	/**
+	 * Confirm the board file BoardGenerator writes from the command line
+	 * reads back as the board generate() builds from the same arguments
+	 * 
+	 * @param layout board layout
+	 * @param rows number of rows
+	 * @param cols number of columns
+	 * @param seed seed for the random choices
+	 * @return true if test passes, else false
+	 */
+	private boolean testBoardGeneratorCmdLine(BoardGenerator.Layout layout, int rows, int cols, long seed) {
+		totalTests += 1;
+		System.out.printf("Testing java BoardGenerator %s %dx%d %d %s\n", layout, rows, cols, seed,
+				GENERATED_FILENAME);
+		try {
+			BoardGenerator.main(new String[] { layout.name(), rows + "x" + cols, Long.toString(seed),
+					GENERATED_FILENAME });
+			CircuitBoard expected = BoardGenerator.generate(layout, rows, cols,
+					BoardGenerator.defaultDensity(layout), seed);
+			return new CircuitBoard(GENERATED_FILENAME).toString().equals(expected.toString());
+		} catch (Exception e) {
+			e.printStackTrace(System.out);
+			return false;
+		}
+	}
+
 	//////////////////////////
 	// XXX CircuitTracer Tests
 	//////////////////////////
@@ -537,9 +1668,37 @@ public class CircuitTracerTester {
 	 */
 	private boolean testCircuitTracerValidFile(String storage, String outputTarget, String fileName,
 			char[][][] solutions) {
+		String[] args = { storage, outputTarget, fileName };
+		return testCircuitTracerValidFile(args, solutions);
+	}
+
+	/**
+	 * Confirm CircuitTracer produces correct results in the expected output format
+	 * when given a valid input file and any number of optional arguments.
+	 * 
+	 * @param args      storage, output target, options and input file, in order
+	 * @param solutions expected solutions
+	 * @return true if test passes, else false
+	 */
+	private boolean testCircuitTracerValidFile(String[] args, char[][][] solutions) {
+		return testCircuitTracerValidFile(args, solutions, solutions.length);
+	}
+
+	/**
+	 * Confirm CircuitTracer produces some of the correct results in the expected
+	 * output format when given a valid input file and options limiting how many
+	 * solutions are printed.
+	 * 
+	 * @param args      storage, output target, options and input file, in order
+	 * @param solutions expected solutions
+	 * @param limit     most solutions expected to be printed
+	 * @return true if test passes, else false
+	 */
+	private boolean testCircuitTracerValidFile(String[] args, char[][][] solutions, int limit) {
+		String fileName = args[args.length - 1];
 		totalTests += 1;
 		Result result;
-		System.out.printf("Testing CircuitTracer({\"%s\" \"%s\" \"%s\"})\n", storage, outputTarget, fileName);
+		System.out.printf("Testing CircuitTracer({\"%s\"})\n", String.join("\" \"", args));
 		// remember console output streams for stdout and stderr
 		PrintStream consoleOut = System.out;
 		PrintStream consoleErr = System.err;
@@ -553,7 +1712,6 @@ public class CircuitTracerTester {
 			// target argument (-c or -g), and input file argument
 			ExecutorService executor = Executors.newSingleThreadExecutor();
 			executor.submit(() -> {
-				String[] args = { storage, outputTarget, fileName };
 				new CircuitTracer(args);
 			});
 			try {
@@ -577,12 +1735,22 @@ public class CircuitTracerTester {
 			// read in output file for comparison with expected solutions
 			int expectedRows = (solutions.length > 0 ? solutions[0].length : 0);
 			int expectedCols = (expectedRows > 0 ? solutions[0][0].length : 0);
-			char[][][] outputSolutions = readOutFile(outfile, solutions.length, expectedRows, expectedCols);
-			// find all known solutions in outputSolutions
+			int expectedSolutions = Math.min(limit, solutions.length);
+			char[][][] outputSolutions = readOutFile(outfile, expectedSolutions, expectedRows, expectedCols);
+			// find all known solutions in outputSolutions, or each output solution among
+			// the known solutions when only some of them are printed
 			result = Result.ValidOutput;
-			for (int solution = 0; solution < solutions.length; solution++) {
-				if (!findSolution(solutions[solution], outputSolutions)) {
-					result = Result.InvalidOutput;
+			if (expectedSolutions == solutions.length) {
+				for (int solution = 0; solution < solutions.length; solution++) {
+					if (!findSolution(solutions[solution], outputSolutions)) {
+						result = Result.InvalidOutput;
+					}
+				}
+			} else {
+				for (int solution = 0; solution < outputSolutions.length; solution++) {
+					if (!findSolution(outputSolutions[solution], solutions)) {
+						result = Result.InvalidOutput;
+					}
 				}
 			}
 			if (result == Result.ValidOutput) {
@@ -754,6 +1922,51 @@ public class CircuitTracerTester {
 		return result == Result.ValidOutput;
 	}
 
+	/**
+	 * Confirm CircuitTracer run from the command line with -count prints only
+	 * the number of shortest solutions for a valid input file.
+	 * 
+	 * @param storage        stack or queue
+	 * @param outputTarget   console or gui
+	 * @param fileName       input file
+	 * @param expectedCount  number of shortest solutions
+	 * @return true if test passes, else false
+	 */
+	private boolean testCircuitTracerCountCmdLine(String storage, String outputTarget, String fileName,
+			int expectedCount) {
+		totalTests += 1;
+		Result result;
+		System.out.printf("Testing java CircuitTracer %s %s %s %s\n", storage, outputTarget, COUNT, fileName);
+		try {
+			ProcessBuilder ctProcessBuilder = new ProcessBuilder("java", "CircuitTracer", storage, outputTarget,
+					COUNT, fileName);
+			File outfile = new File(fileName + ".out");
+			ctProcessBuilder.redirectErrorStream(true);
+			ctProcessBuilder.redirectOutput(outfile);
+			Process ctProcess = ctProcessBuilder.start();
+			ctProcess.waitFor(TIMEOUT, TimeUnit.SECONDS);
+			// expect exactly one line holding the count
+			Scanner scan = new Scanner(outfile);
+			String line = scan.hasNextLine() ? scan.nextLine().trim() : "";
+			boolean extraOutput = scan.hasNextLine();
+			scan.close();
+			if (!extraOutput && line.equals(Integer.toString(expectedCount))) {
+				result = Result.ValidOutput;
+				System.out.println("Output matches expected count.");
+			} else {
+				result = Result.InvalidOutput;
+				System.out.println("Output does NOT match expected count " + expectedCount + ": " + line);
+			}
+		} catch (InterruptedException e) {
+			result = Result.UnexpectedException;
+			System.out.println("Unable to complete CircuitTracer process in reasonable time.");
+		} catch (Exception e) {
+			result = Result.UnexpectedException;
+			e.printStackTrace(System.out);
+		}
+		return result == Result.ValidOutput;
+	}
+
 	/**
 	 * Read output into char arrays for comparison with known solutions
 	 * 
@@ -1029,6 +2242,17 @@ public class CircuitTracerTester {
 		makeFile(INVALID_10, INVALID_10_FILENAME, INVALID_10_ROWCOL);
 		makeFile(INVALID_11, INVALID_11_FILENAME, INVALID_11_ROWCOL);
 		makeFile(INVALID_12, INVALID_12_FILENAME, INVALID_12_ROWCOL);
+		makeFile(INVALID_13, INVALID_13_FILENAME, INVALID_13_ROWCOL);
+		makeFile(MULTI_NET_1, MULTI_NET_1_FILENAME);
+		makeFile(MULTI_NET_2, MULTI_NET_2_FILENAME);
+		makeFile(MULTI_NET_3, MULTI_NET_3_FILENAME);
+		makeFile(MULTI_NET_INVALID_1, MULTI_NET_INVALID_1_FILENAME);
+		makeFile(WEIGHTED_1, WEIGHTED_1_FILENAME, WEIGHTED_1_COSTS);
+		makeFile(WEIGHTED_1, WEIGHTED_INVALID_1_FILENAME, WEIGHTED_INVALID_1_COSTS);
+		makeFile(WEIGHTED_1, WEIGHTED_INVALID_2_FILENAME, WEIGHTED_INVALID_2_COSTS);
+		makeFile(WEIGHTED_1, WEIGHTED_INVALID_3_FILENAME, null, WEIGHTED_1_COSTS);
+		makeFile(WEIGHTED_1, WEIGHTED_INVALID_4_FILENAME, null, WEIGHTED_INVALID_4_COSTS);
+		makeFile(TURNS_1, TURNS_1_FILENAME);
 	}
 
 	/**
@@ -1067,6 +2291,37 @@ public class CircuitTracerTester {
 		outFile.close();
 	}
 
+	/**
+	 * Generate an input file followed by a cost layer
+	 * 
+	 * @throws FileNotFoundException
+	 */
+	private void makeFile(char[][] contents, String fileName, int[][] costs) throws FileNotFoundException {
+		makeFile(contents, fileName, CircuitBoard.COSTS_HEADER, costs);
+	}
+
+	/**
+	 * Generate an input file followed by rows of numbers, after costsHeader
+	 * unless it is null
+	 * 
+	 * @throws FileNotFoundException
+	 */
+	private void makeFile(char[][] contents, String fileName, String costsHeader, int[][] costs)
+			throws FileNotFoundException {
+		makeFile(contents, fileName);
+		PrintStream outFile = new PrintStream(new FileOutputStream(fileName, true));
+		if (costsHeader != null) {
+			outFile.println(costsHeader);
+		}
+		for (int row = 0; row < costs.length; row++) {
+			for (int col = 0; col < costs[row].length; col++) {
+				outFile.print(costs[row][col] + " ");
+			}
+			outFile.println();
+		}
+		outFile.close();
+	}
+
 	///////////////////////////////////////////////
 	// XXX Valid Input File Contents and Solutions
 	///////////////////////////////////////////////
@@ -1291,6 +2546,96 @@ public class CircuitTracerTester {
 	private static final String INVALID_12_ROWCOL = "3 3.0";
 	private static final char[][] INVALID_12 = { // row/col double value
 			{ 'O', '1', 'O' }, { 'O', 'O', 'O' }, { 'O', '2', 'O' } };
+	private static final String INVALID_13_FILENAME = "invalid13.dat";
+	private static final String INVALID_13_ROWCOL = "46341 46341";
+	private static final char[][] INVALID_13 = { // rows times columns overflows an int
+			{ 'O', '1', 'O' }, { 'O', 'O', 'O' }, { 'O', '2', 'O' } };
+
+	///////////////////////////////////
+	// XXX Multi-Net Input File Contents
+	///////////////////////////////////
+
+	private static final String MULTI_NET_1_FILENAME = "nets1.dat";
+	private static final char[][] MULTI_NET_1 = { // routed after one rip-up
+			{ 'O', 'O', 'O', 'O', '1', 'O', 'O', '3' },
+			{ 'O', 'O', 'O', 'O', 'O', '2', 'O', 'O' },
+			{ 'O', 'O', 'O', 'O', 'O', 'O', '1', 'O' },
+			{ 'O', '2', 'O', 'O', 'O', 'O', 'O', 'O' },
+			{ 'X', 'O', 'X', 'O', 'O', 'O', 'O', '3' } };
+	private static final String MULTI_NET_2_FILENAME = "nets2.dat";
+	private static final char[][] MULTI_NET_2 = { // routed after one rip-up
+			{ 'O', 'O', 'O', '1', 'O', 'O', 'O', 'O', 'O', 'O', '2' },
+			{ 'O', 'O', 'O', 'O', 'O', 'O', 'O', 'O', 'O', 'X', 'O' },
+			{ 'O', 'O', 'O', 'O', 'X', 'O', 'O', 'O', 'O', 'X', '1' },
+			{ 'O', 'O', 'O', 'O', 'O', 'O', 'O', 'O', 'O', 'O', 'O' },
+			{ 'O', 'O', 'O', 'X', 'O', 'O', 'O', 'O', 'O', 'X', 'O' },
+			{ 'O', 'O', 'O', 'O', '2', 'O', 'O', 'O', 'O', 'O', 'O' },
+			{ 'O', 'O', 'O', 'O', 'O', 'O', 'O', 'O', 'O', 'O', 'X' } };
+	private static final String MULTI_NET_3_FILENAME = "nets3.dat";
+	private static final char[][] MULTI_NET_3 = { // crossing nets, only one can be routed
+			{ 'X', 'X', '2', 'X', 'X' },
+			{ '1', 'O', 'O', 'O', '1' },
+			{ 'X', 'X', 'O', 'X', 'X' },
+			{ 'X', 'X', '2', 'X', 'X' } };
+	private static final String MULTI_NET_INVALID_1_FILENAME = "netsInvalid1.dat";
+	private static final char[][] MULTI_NET_INVALID_1 = { // nets 1 and 3 have only one pin
+			{ 'O', '1', 'O' },
+			{ 'O', '2', 'O' },
+			{ 'O', '2', '3' } };
+
+	//////////////////////////////////
+	// XXX Weighted Input File Contents
+	//////////////////////////////////
+
+	private static final String WEIGHTED_1_FILENAME = "weighted1.dat";
+	private static final char[][] WEIGHTED_1 = { // shortest traces on the left cost more
+			{ '1', 'O', 'O', 'O', 'O' },
+			{ 'O', 'X', 'X', 'X', 'O' },
+			{ 'O', 'O', 'O', 'O', 'O' },
+			{ 'O', 'O', 'O', 'O', '2' } };
+	private static final int[][] WEIGHTED_1_COSTS = {
+			{ 1, 1, 1, 1, 1 },
+			{ 5, 1, 1, 1, 1 },
+			{ 5, 5, 5, 5, 1 },
+			{ 5, 5, 5, 5, 1 } };
+	private static final char[][][] WEIGHTED_1_SOLUTIONS = {
+			{ { '1', 'T', 'T', 'T', 'T' },
+			{ 'O', 'X', 'X', 'X', 'T' },
+			{ 'O', 'O', 'O', 'O', 'T' },
+			{ 'O', 'O', 'O', 'O', '2' } } };
+	private static final String WEIGHTED_INVALID_1_FILENAME = "weightedInvalid1.dat";
+	private static final int[][] WEIGHTED_INVALID_1_COSTS = { // cost of 0
+			{ 1, 1, 1, 1, 1 },
+			{ 5, 1, 1, 1, 1 },
+			{ 5, 5, 0, 5, 1 },
+			{ 5, 5, 5, 5, 1 } };
+	private static final String WEIGHTED_INVALID_2_FILENAME = "weightedInvalid2.dat";
+	private static final int[][] WEIGHTED_INVALID_2_COSTS = { // missing cost
+			{ 1, 1, 1, 1, 1 },
+			{ 5, 1, 1, 1 },
+			{ 5, 5, 5, 5, 1 },
+			{ 5, 5, 5, 5, 1 } };
+	private static final String WEIGHTED_INVALID_3_FILENAME = "weightedInvalid3.dat"; // costs without their header
+	private static final String WEIGHTED_INVALID_4_FILENAME = "weightedInvalid4.dat";
+	private static final int[][] WEIGHTED_INVALID_4_COSTS = { // trailing number after the board rows
+			{ 7 } };
+	private static final String TURNS_1_FILENAME = "turns1.dat";
+	private static final String GENERATED_FILENAME = "generated1.dat";
+	private static final String BATCH_DIRECTORY = "batchResults";
+	private static final char[][] TURNS_1 = { // six shortest traces, two with a single bend
+			{ '1', 'O', 'O' },
+			{ 'O', 'O', 'O' },
+			{ 'O', 'O', '2' } };
+	private static final char[][][] TURNS_1_SOLUTIONS = {
+			{ { '1', 'O', 'O' }, { 'T', 'O', 'O' }, { 'T', 'T', '2' } },
+			{ { '1', 'O', 'O' }, { 'T', 'T', 'O' }, { 'O', 'T', '2' } },
+			{ { '1', 'O', 'O' }, { 'T', 'T', 'T' }, { 'O', 'O', '2' } },
+			{ { '1', 'T', 'O' }, { 'O', 'T', 'O' }, { 'O', 'T', '2' } },
+			{ { '1', 'T', 'O' }, { 'O', 'T', 'T' }, { 'O', 'O', '2' } },
+			{ { '1', 'T', 'T' }, { 'O', 'O', 'T' }, { 'O', 'O', '2' } } };
+	private static final char[][][] TURNS_1_FEWEST_TURNS = {
+			{ { '1', 'O', 'O' }, { 'T', 'O', 'O' }, { 'T', 'T', '2' } },
+			{ { '1', 'T', 'T' }, { 'O', 'O', 'T' }, { 'O', 'O', '2' } } };
 
 	/** Indicates invalid output format from CircuitTracer */
 	private class InvalidOutputException extends IOException {
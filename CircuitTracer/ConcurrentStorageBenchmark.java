@@ -0,0 +1,100 @@
+/**
+ * Measure the throughput of the thread-safe Storage data structures as the
+ * number of threads sharing one Storage grows from 1 to N.
+ *
+ * Each thread repeatedly stores two elements and retrieves one, the way a
+ * search thread retrieves one state and stores its neighbors, then the
+ * threads drain what is left between them. Each measurement is repeated and
+ * the fastest round reported, after one untimed warm-up round.
+ *
+ * @author Jacob Smith
+ */
+public class ConcurrentStorageBenchmark {
+	/** thread-safe data structures compared */
+	private static final Storage.DataStructure[] STRUCTURES = { Storage.DataStructure.treiber,
+			Storage.DataStructure.concurrent };
+	/** number of elements each thread stores per round */
+	private static final int ELEMENTS_PER_THREAD = 1 << 19;
+	/** default number of timed rounds */
+	private static final int DEFAULT_ROUNDS = 5;
+
+	/** Launch the benchmark.
+	 *
+	 * @param args two optional arguments:
+	 *  first arg: largest number of threads, defaults to twice the number of processors
+	 *  second arg: number of timed rounds, defaults to 5
+	 */
+	public static void main(String[] args) {
+		int maxThreads = Runtime.getRuntime().availableProcessors() * 2;
+		int rounds = DEFAULT_ROUNDS;
+		try {
+			if (args.length > 0) {
+				maxThreads = Integer.parseInt(args[0]);
+			}
+			if (args.length > 1) {
+				rounds = Integer.parseInt(args[1]);
+			}
+		} catch (NumberFormatException e) {
+			maxThreads = 0;
+		}
+		if (args.length > 2 || maxThreads <= 0 || rounds <= 0) {
+			System.out.println("To Run The Program Please Follow The Following Input Structure:");
+			System.out.println("java ConcurrentStorageBenchmark [MaxThreads] [Rounds]");
+			System.out.println("Example:");
+			System.out.println("java ConcurrentStorageBenchmark 8 10");
+			return;
+		}
+
+		System.out.printf("%-12s %8s %16s\n", "Storage", "threads", "million ops/s");
+		for (Storage.DataStructure structure : STRUCTURES) {
+			for (int threads = 1; threads <= maxThreads; threads *= 2) {
+				long best = Long.MAX_VALUE;
+				for (int round = 0; round <= rounds; round++) {
+					long time = run(new Storage<Integer>(structure), threads);
+					if (round > 0) {
+						best = Math.min(best, time);
+					}
+				}
+				// every element is stored once and retrieved once
+				double operations = 2.0 * threads * ELEMENTS_PER_THREAD;
+				System.out.printf("%-12s %8d %16.2f\n", structure, threads, operations / best * 1000);
+			}
+		}
+	}
+
+	/** Time threads sharing one storage
+	 * @param storage empty, thread-safe storage to share
+	 * @param threads number of threads
+	 * @return nanoseconds until every thread finished
+	 */
+	private static long run(Storage<Integer> storage, int threads) {
+		Thread[] workers = new Thread[threads];
+		for (int t = 0; t < threads; t++) {
+			int first = t * ELEMENTS_PER_THREAD;
+			workers[t] = new Thread(() -> {
+				for (int i = 0; i < ELEMENTS_PER_THREAD; i++) {
+					storage.store(first + i);
+					if ((i & 1) == 1) {
+						storage.poll();
+					}
+				}
+				while (storage.poll() != null) {
+					// drain
+				}
+			});
+		}
+		long start = System.nanoTime();
+		for (Thread worker : workers) {
+			worker.start();
+		}
+		for (Thread worker : workers) {
+			try {
+				worker.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		return System.nanoTime() - start;
+	}
+} // class ConcurrentStorageBenchmark
@@ -0,0 +1,32 @@
+import java.util.ArrayDeque;
+
+/**
+ * StateContainer over a java.util.ArrayDeque used as a stack, retrieving
+ * the most recently stored element first.
+ *
+ * @author Jacob Smith
+ */
+public class DequeContainer<T> implements StateContainer<T> {
+	/** elements, most recent at the head */
+	private final ArrayDeque<T> deque = new ArrayDeque<T>();
+
+	@Override
+	public void store(T element) {
+		deque.push(element);
+	}
+
+	@Override
+	public T retrieve() {
+		return deque.pop();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return deque.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return deque.size();
+	}
+} // class DequeContainer
@@ -0,0 +1,323 @@
+import java.awt.Point;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.PriorityQueue;
+import java.util.Scanner;
+
+/**
+ * Keeps the shortest traces of a CircuitBoard up to date while positions are
+ * opened and closed one at a time, so a layout tool can re-solve after every
+ * edit without searching the whole board again.
+ *
+ * Distances are maintained with Lifelong Planning A* (LPA*). Every position
+ * has a distance g from the starting component and a one-step lookahead rhs,
+ * one more than the smallest g of its neighbors. Positions where the two
+ * disagree wait in a priority queue ordered by distance plus the Manhattan
+ * distance to the ending component, as in A*. An edit only changes the rhs
+ * of the edited position and its neighbors, so an update only expands the
+ * positions whose distances the edit actually changed and that could lie on
+ * a shortest trace.
+ *
+ * Expansion continues through every position that could be on some shortest
+ * trace, not just one, so every position on a shortest trace has its exact
+ * distance and the traces are rebuilt from those distances the same way as
+ * ShortestPathSearch.
+ *
+ * @author Jacob Smith
+ */
+public class IncrementalTracer {
+	/** row and column offsets of the four neighbors of a position */
+	private static final int[] DROW = {-1, 1, 0, 0};
+	private static final int[] DCOL = {0, 0, -1, 1};
+	/** distance of positions not connected to the starting component */
+	private static final int INFINITY = Integer.MAX_VALUE;
+
+	/** board being traced, changed only through this tracer */
+	private final CircuitBoard board;
+	/** number of columns on the board, for row-major positions */
+	private final int cols;
+	/** row-major position of the starting component */
+	private final int start;
+	/** position of the ending component */
+	private final Point end;
+	/** row-major position of the ending component */
+	private final int endIndex;
+	/** distance from the starting component per row-major position; for open positions this is the trace length */
+	private final int[] g;
+	/** one-step lookahead distance per row-major position */
+	private final int[] rhs;
+	/** inconsistent positions as {key, distance, position}, including stale entries skipped when reached */
+	private final PriorityQueue<int[]> queue = new PriorityQueue<>(
+			(a, b) -> a[0] != b[0] ? Integer.compare(a[0], b[0]) : Integer.compare(a[1], b[1]));
+	/** positions expanded by the last update */
+	private int expanded;
+	/** counters for the last search */
+	private final SearchMetrics metrics = new SearchMetrics();
+
+	/** Launch an interactive session.
+	 *
+	 * @param args one required argument: the board file to trace. Edits are
+	 *  then read from standard input, one per line:
+	 *  open row col -- opens the position
+	 *  close row col -- closes the position
+	 *  print -- prints the current shortest traces
+	 *  quit -- ends the session
+	 */
+	public static void main(String[] args) {
+		if (args.length != 1) {
+			printUsage();
+			return;
+		}
+		IncrementalTracer tracer;
+		try {
+			tracer = new IncrementalTracer(new CircuitBoard(args[0]));
+		} catch (InvalidFileFormatException e) {
+			System.out.println("InvalidFileFormatException");
+			return;
+		} catch (FileNotFoundException e) {
+			System.out.println("FileNotFoundException");
+			return;
+		}
+		tracer.printStatus();
+
+		Scanner in = new Scanner(System.in);
+		while (in.hasNextLine()) {
+			String[] command = in.nextLine().trim().split("\\s+");
+			try {
+				if (command[0].equals("quit")) {
+					break;
+				} else if (command[0].equals("print")) {
+					SolutionWriter writer = new SolutionWriter(tracer.board, new OutputStreamWriter(System.out), true);
+					tracer.search(writer);
+					writer.finish();
+				} else if (command.length == 3 && command[0].equals("open")) {
+					tracer.openPosition(Integer.parseInt(command[1]), Integer.parseInt(command[2]));
+					tracer.printStatus();
+				} else if (command.length == 3 && command[0].equals("close")) {
+					tracer.closePosition(Integer.parseInt(command[1]), Integer.parseInt(command[2]));
+					tracer.printStatus();
+				} else if (!command[0].isEmpty()) {
+					System.out.println("Unknown edit, expected open row col, close row col, print or quit");
+				}
+			} catch (NumberFormatException | ArrayIndexOutOfBoundsException | OccupiedPositionException e) {
+				System.out.println("Invalid position: " + e.getMessage());
+			} catch (IOException e) {
+				System.out.println("Unable to print solutions: " + e.getMessage());
+			}
+		}
+		in.close();
+	}
+
+	/** Print instructions for running IncrementalTracer from the command line. */
+	private static void printUsage() {
+		System.out.println("To Run The Program Please Follow The Following Input Structure:");
+		System.out.println("java IncrementalTracer <InputFileName>");
+		System.out.println("Then enter one edit per line:");
+		System.out.println("open row col -- opens the position");
+		System.out.println("close row col -- closes the position");
+		System.out.println("print -- prints the current shortest paths");
+		System.out.println("quit -- ends the session");
+	}
+
+	/** Print the current shortest trace length and the work the last update took */
+	private void printStatus() {
+		int length = bestLength();
+		System.out.println((length == 0 ? "no path" : "shortest path length " + length) + ", "
+				+ expanded + " positions updated");
+	}
+
+	/** Constructor traces a copy of the given board, with any pruning undone
+	 * so that every position can be reopened by later edits
+	 * @param board board to trace
+	 */
+	public IncrementalTracer(CircuitBoard board) {
+		this.board = new CircuitBoard(board);
+		this.board.clearPruning();
+		cols = board.numCols();
+		Point startPoint = board.getStartingPoint();
+		start = startPoint.x * cols + startPoint.y;
+		end = board.getEndingPoint();
+		endIndex = end.x * cols + end.y;
+		g = new int[board.numRows() * cols];
+		rhs = new int[g.length];
+		for (int index = 0; index < g.length; index++) {
+			g[index] = INFINITY;
+			rhs[index] = INFINITY;
+		}
+		rhs[start] = 0;
+		queue.add(key(start));
+		update();
+	}
+
+	/** Open a position and update the shortest trace distances
+	 * @param row
+	 * @param col
+	 * @throws OccupiedPositionException if given position is a component
+	 * @throws ArrayIndexOutOfBoundsException if row, col is not on the board
+	 */
+	public void openPosition(int row, int col) {
+		board.openPosition(row, col);
+		positionChanged(row, col);
+	}
+
+	/** Close a position and update the shortest trace distances
+	 * @param row
+	 * @param col
+	 * @throws OccupiedPositionException if given position is a component
+	 * @throws ArrayIndexOutOfBoundsException if row, col is not on the board
+	 */
+	public void closePosition(int row, int col) {
+		board.closePosition(row, col);
+		positionChanged(row, col);
+	}
+
+	/** @return length of the shortest trace on the current board, 0 if the components cannot be connected */
+	public int bestLength() {
+		return g[endIndex] == INFINITY ? 0 : g[endIndex] - 1;
+	}
+
+	/** Hand every shortest trace on the current board to the collector,
+	 * in the same order as ShortestPathSearch
+	 * @param collector receives the traces
+	 */
+	public void search(SolutionCollector collector) {
+		metrics.start(board);
+		int bestLength = bestLength();
+		if (bestLength > 0) {
+			ShortestPathSearch.rebuildTraces(board, g, bestLength, collector, metrics);
+		}
+		metrics.stop();
+	}
+
+	/** @return all shortest traces on the current board, empty if the components cannot be connected */
+	public ArrayList<TraceState> findBestPaths() {
+		BestPathCollector collector = new BestPathCollector();
+		search(collector);
+		return collector.getBestPaths();
+	}
+
+	/** @return copy of the current board */
+	public CircuitBoard getBoard() {
+		return new CircuitBoard(board);
+	}
+
+	/** @return positions expanded by the last update */
+	public int getExpanded() {
+		return expanded;
+	}
+
+	/** @return counters describing the last search */
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	/** Recheck an edited position and its neighbors, then bring the distances up to date
+	 * @param row
+	 * @param col
+	 */
+	private void positionChanged(int row, int col) {
+		updateVertex(row * cols + col);
+		for (int dir = 0; dir < DROW.length; dir++) {
+			int r = row + DROW[dir];
+			int c = col + DCOL[dir];
+			if (r >= 0 && r < board.numRows() && c >= 0 && c < cols) {
+				updateVertex(r * cols + c);
+			}
+		}
+		update();
+	}
+
+	/** Expand inconsistent positions in key order until every position that
+	 * could be on a shortest trace has its exact distance */
+	private void update() {
+		expanded = 0;
+		while (!queue.isEmpty()) {
+			int[] top = queue.peek();
+			int index = top[2];
+			int distance = Math.min(g[index], rhs[index]);
+			if (g[index] == rhs[index] || top[1] != distance || top[0] != distance + heuristic(index)) {
+				// the position has since become consistent or been queued again with a new key
+				queue.poll();
+				continue;
+			}
+			if (g[endIndex] == rhs[endIndex] && top[0] > g[endIndex]) {
+				// nothing left in the queue could be on a shortest trace
+				break;
+			}
+			queue.poll();
+			expanded++;
+			if (g[index] > rhs[index]) {
+				g[index] = rhs[index];
+			} else {
+				g[index] = INFINITY;
+				updateVertex(index);
+			}
+			if (index != endIndex) {
+				for (int dir = 0; dir < DROW.length; dir++) {
+					int r = index / cols + DROW[dir];
+					int c = index % cols + DCOL[dir];
+					if (r >= 0 && r < board.numRows() && c >= 0 && c < cols) {
+						updateVertex(r * cols + c);
+					}
+				}
+			}
+		}
+	}
+
+	/** Recompute a position's lookahead distance, queueing it if it no longer matches its distance
+	 * @param index row-major position
+	 */
+	private void updateVertex(int index) {
+		if (index == start) {
+			return;
+		}
+		rhs[index] = lookahead(index);
+		if (g[index] != rhs[index]) {
+			queue.add(key(index));
+		}
+	}
+
+	/** @param index row-major position
+	 * @return one more than the smallest distance of a neighbor a trace could
+	 *         arrive from, INFINITY if the position cannot be reached
+	 */
+	private int lookahead(int index) {
+		int row = index / cols;
+		int col = index % cols;
+		if (index != endIndex && !board.isOpen(row, col)) {
+			return INFINITY;
+		}
+		int best = INFINITY;
+		for (int dir = 0; dir < DROW.length; dir++) {
+			int r = row + DROW[dir];
+			int c = col + DCOL[dir];
+			if (r < 0 || r >= board.numRows() || c < 0 || c >= cols) {
+				continue;
+			}
+			int neighbor = r * cols + c;
+			// traces run from open position to open position, and need at least one between the components
+			boolean from = board.isOpen(r, c) || (neighbor == start && index != endIndex);
+			if (from && g[neighbor] != INFINITY) {
+				best = Math.min(best, g[neighbor] + 1);
+			}
+		}
+		return best;
+	}
+
+	/** @param index row-major position
+	 * @return Manhattan distance from the position to the ending component
+	 */
+	private int heuristic(int index) {
+		return Math.abs(index / cols - end.x) + Math.abs(index % cols - end.y);
+	}
+
+	/** @param index inconsistent row-major position
+	 * @return queue entry for the position
+	 */
+	private int[] key(int index) {
+		int distance = Math.min(g[index], rhs[index]);
+		return new int[] { distance + heuristic(index), distance, index };
+	}
+} // class IncrementalTracer
@@ -0,0 +1,148 @@
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * Iterative-deepening depth-first search that finds all shortest traces
+ * while holding only the current path in memory.
+ *
+ * Each iteration runs a depth-first search that drops any path which, even
+ * heading straight for the ending component, could not reach it within the
+ * iteration's length limit. The first limit is the fewest positions a trace
+ * could need - one less than the Manhattan distance between the components -
+ * and every trace has the same parity as that distance, so the limit grows
+ * by two each time. The first iteration to reach the ending component finds
+ * exactly the shortest traces. An iteration that never had to drop a path
+ * for being over the limit has seen every position reachable from the start,
+ * so finding nothing then means there is no trace at all.
+ *
+ * The path is kept as one TraceState per depth, each extending the one
+ * before it, along with which neighbor to try next. Both arrays are sized to
+ * the iteration's length limit and grown when it rises, and the TraceStates
+ * tell which positions are already on the path, so memory is proportional to
+ * the longest path rather than the board or the whole search frontier.
+ *
+ * @author Jacob Smith
+ */
+public class IterativeDeepeningSearch implements SearchEngine {
+	/** row and column offsets of the four neighbors, in the order they are explored: up, down, left, right */
+	private static final int[] DROW = {-1, 1, 0, 0};
+	private static final int[] DCOL = {0, 0, -1, 1};
+	/** counters for the last search, peak storage being the longest path held */
+	private final SearchMetrics metrics = new SearchMetrics();
+
+	/** next neighbor direction to try at each depth, the starting component at depth 0 */
+	private int[] nextDir;
+	/** state holding the current path up to each depth, from depth 1 */
+	private TraceState[] states;
+	/** length limit of the last iteration of the last search */
+	private int lastLimit;
+	/** iterations run by the last search */
+	private int iterations;
+
+	@Override
+	public boolean findsShortestFirst() {
+		return true;
+	}
+
+	@Override
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void search(CircuitBoard board, SolutionCollector collector) {
+		metrics.start(board);
+		nextDir = new int[0];
+		states = new TraceState[0];
+
+		Point start = board.getStartingPoint();
+		Point end = board.getEndingPoint();
+		lastLimit = Math.abs(start.x - end.x) + Math.abs(start.y - end.y) - 1;
+		if (lastLimit < 1) {
+			// neighboring components still need a trace of at least two positions to go around
+			lastLimit += 2;
+		}
+		iterations = 1;
+		while (!searchToLimit(board, lastLimit, collector)) {
+			lastLimit += 2;
+			iterations++;
+		}
+
+		nextDir = null;
+		states = null;
+		metrics.stop();
+	}
+
+	/** Run one depth-limited search
+	 * @param board board to search
+	 * @param limit longest trace to consider
+	 * @param collector receives the solutions found
+	 * @return true if the search is over: solutions were found, the collector
+	 *         is full, or no path was dropped for being over the limit
+	 */
+	private boolean searchToLimit(CircuitBoard board, int limit, SolutionCollector collector) {
+		if (nextDir.length <= limit) {
+			// no path is longer than the limit, so the arrays only grow with it
+			nextDir = new int[limit + 1];
+			states = Arrays.copyOf(states, limit + 1);
+		}
+		Point start = board.getStartingPoint();
+		Point end = board.getEndingPoint();
+		boolean found = false;
+		boolean cutoff = false;
+		int top = 0;
+		nextDir[0] = 0;
+		while (top >= 0) {
+			if (nextDir[top] == DROW.length) {
+				// every neighbor tried, back up one position
+				states[top] = null;
+				top--;
+				continue;
+			}
+			int dir = nextDir[top]++;
+			int r = (top == 0 ? start.x : states[top].getRow()) + DROW[dir];
+			int c = (top == 0 ? start.y : states[top].getCol()) + DCOL[dir];
+			if (top == 0 ? !board.isOpen(r, c) : !states[top].isOpen(r, c)) {
+				continue;
+			}
+			metrics.stateCreated();
+			int remaining = Math.abs(r - end.x) + Math.abs(c - end.y);
+			if (top + remaining > limit) {
+				// a trace through here needs at least top + remaining positions
+				metrics.statePruned();
+				cutoff = true;
+				continue;
+			}
+			if (top == 0) {
+				states[1] = new TraceState(board, r, c);
+				metrics.boardCopied();
+			} else {
+				states[top + 1] = new TraceState(states[top], r, c);
+			}
+			top++;
+			nextDir[top] = 0;
+			metrics.storageSize(top);
+			if (remaining == 1) {
+				found = true;
+				metrics.solutionFound();
+				collector.add(states[top]);
+				if (collector.isFull()) {
+					return true;
+				}
+				// a solution is never extended
+				nextDir[top] = DROW.length;
+			}
+		}
+		return found || !cutoff;
+	}
+
+	/** @return length limit of the last iteration of the last search */
+	public int getLastLimit() {
+		return lastLimit;
+	}
+
+	/** @return iterations run by the last search */
+	public int getIterations() {
+		return iterations;
+	}
+} // class IterativeDeepeningSearch
@@ -0,0 +1,119 @@
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * Compare Jump Point Search against the single-pass breadth-first search
+ * when both only need one shortest trace: the board files of a directory,
+ * then open and random boards from BoardGenerator from 100x100 up to
+ * 1000x1000, the random ones with a tenth of their positions occupied.
+ *
+ * Each search is repeated and the fastest round reported, after one untimed
+ * warm-up round so the JIT compiler has already run, along with the states
+ * the breadth-first pass created and the jump points Jump Point Search
+ * expanded.
+ *
+ * @author Jacob Smith
+ */
+public class JumpPointBenchmark {
+	/** side lengths of the generated square boards */
+	private static final int[] SIZES = { 100, 300, 1000 };
+	/** fraction of positions occupied on the generated random boards */
+	private static final double DENSITY = 0.1;
+	/** seed for the generated boards, so every run times the same boards */
+	private static final long SEED = 221;
+	/** default number of timed rounds */
+	private static final int DEFAULT_ROUNDS = 5;
+
+	/** Launch the benchmark.
+	 *
+	 * @param args two optional arguments:
+	 *  first arg: directory of board files to search, defaults to boards
+	 *  second arg: number of timed rounds, defaults to 5
+	 */
+	public static void main(String[] args) {
+		if (args.length > 2) {
+			printUsage();
+			return;
+		}
+		int rounds = DEFAULT_ROUNDS;
+		if (args.length == 2) {
+			try {
+				rounds = Integer.parseInt(args[1]);
+			} catch (NumberFormatException e) {
+				rounds = 0;
+			}
+			if (rounds <= 0) {
+				printUsage();
+				return;
+			}
+		}
+
+		ArrayList<String> names = new ArrayList<String>();
+		ArrayList<CircuitBoard> boards = new ArrayList<CircuitBoard>();
+		File[] files = new File(args.length > 0 ? args[0] : "boards").listFiles();
+		if (files != null) {
+			Arrays.sort(files);
+			for (File file : files) {
+				try {
+					boards.add(new CircuitBoard(file.getPath()));
+					names.add(file.getName());
+				} catch (InvalidFileFormatException | FileNotFoundException e) {
+					// only valid boards are timed
+				}
+			}
+		}
+		for (int size : SIZES) {
+			boards.add(BoardGenerator.generate(BoardGenerator.Layout.open, size, size, 0, SEED));
+			names.add(String.format("open %dx%d", size, size));
+			boards.add(BoardGenerator.generate(BoardGenerator.Layout.random, size, size, DENSITY, SEED));
+			names.add(String.format("random %dx%d", size, size));
+		}
+
+		System.out.printf("%-20s %7s %12s %10s %12s %12s\n", "Board", "Length", "BFS", "BFS states",
+				"JPS", "JPS expanded");
+		for (int i = 0; i < boards.size(); i++) {
+			CircuitBoard board = boards.get(i);
+			board.pruneUnreachable();
+			ShortestPathSearch bfs = new ShortestPathSearch();
+			JumpPointSearch jps = new JumpPointSearch();
+			long bfsTime = Long.MAX_VALUE;
+			long jpsTime = Long.MAX_VALUE;
+			int length = 0;
+			for (int round = 0; round <= rounds; round++) {
+				BestPathCollector first = new BestPathCollector(1);
+				long start = System.nanoTime();
+				bfs.search(board, first);
+				long time = System.nanoTime() - start;
+				if (round > 0) {
+					bfsTime = Math.min(bfsTime, time);
+				}
+				length = first.getBestPaths().isEmpty() ? 0 : first.bestLength();
+
+				BestPathCollector jumped = new BestPathCollector(1);
+				start = System.nanoTime();
+				jps.search(board, jumped);
+				time = System.nanoTime() - start;
+				if (round > 0) {
+					jpsTime = Math.min(jpsTime, time);
+				}
+				if ((jumped.getBestPaths().isEmpty() ? 0 : jumped.bestLength()) != length) {
+					System.out.printf("%-20s Jump Point Search found length %d, expected %d\n", names.get(i),
+							jumped.bestLength(), length);
+					return;
+				}
+			}
+			System.out.printf("%-20s %7d %9.3f ms %10d %9.3f ms %12d\n", names.get(i), length, bfsTime / 1e6,
+					bfs.getMetrics().getStatesCreated(), jpsTime / 1e6, jps.getExpanded());
+		}
+	}
+
+	/** Print instructions for running JumpPointBenchmark from the command line. */
+	private static void printUsage() {
+		System.out.println("To Run The Program Please Follow The Following Input Structure:");
+		System.out.println("java JumpPointBenchmark [BoardDirectory] [Rounds]");
+		System.out.println("Example:");
+		System.out.println("java JumpPointBenchmark boards 10");
+	}
+} // class JumpPointBenchmark
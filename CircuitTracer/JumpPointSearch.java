@@ -0,0 +1,240 @@
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * A* search with Jump Point Search pruning, for the 4-connected grid of a
+ * CircuitBoard on which every step costs the same. It finds one shortest
+ * trace rather than all of them.
+ *
+ * Many shortest traces differ only in the order of their horizontal and
+ * vertical steps. Jump Point Search keeps just one of each such family -
+ * the one that goes straight for as long as it can - by moving in straight
+ * lines and only stopping, to be added to the open list, at jump points:
+ *  - moving horizontally, a position with an open neighbor above or below
+ *    that could not have been reached more directly, because the position
+ *    behind it on that side is not open
+ *  - moving vertically, a position from which a horizontal jump either way
+ *    finds a jump point
+ *  - a position next to the ending component, where a trace ends
+ * Everything between two jump points is a straight run that is never
+ * stored, so on open boards only a handful of positions are expanded.
+ *
+ * The heuristic is the Manhattan distance to the ending component less one,
+ * the fewest positions a trace could still need. It never overestimates and
+ * drops by at most one per step, so keys leave the open list in
+ * nondecreasing order and the open list is a RadixHeap.
+ *
+ * @author Jacob Smith
+ */
+public class JumpPointSearch implements SearchEngine {
+	/** row and column offsets of the four neighbors, in the order they are explored: up, down, left, right */
+	private static final int[] DROW = {-1, 1, 0, 0};
+	private static final int[] DCOL = {0, 0, -1, 1};
+	/** parent of positions not yet reached */
+	private static final int NONE = -1;
+	/** counters for the last search */
+	private final SearchMetrics metrics = new SearchMetrics();
+
+	/** board being searched */
+	private CircuitBoard board;
+	/** position of the ending component */
+	private Point end;
+	/** number of columns on the board */
+	private int cols;
+	/** trace length to each row-major jump point */
+	private int[] length;
+	/** row-major jump point each jump point was reached from, NONE if not reached yet */
+	private int[] parent;
+	/** true for jump points already expanded */
+	private boolean[] closed;
+	/** jump points expanded by the last search */
+	private int expanded;
+
+	@Override
+	public boolean findsShortestFirst() {
+		return true;
+	}
+
+	@Override
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void search(CircuitBoard board, SolutionCollector collector) {
+		metrics.start(board);
+		this.board = board;
+		end = board.getEndingPoint();
+		cols = board.numCols();
+		int positions = board.numRows() * cols;
+		length = new int[positions];
+		parent = new int[positions];
+		closed = new boolean[positions];
+		Arrays.fill(parent, NONE);
+		expanded = 0;
+
+		Point start = board.getStartingPoint();
+		int startIndex = start.x * cols + start.y;
+		RadixHeap open = new RadixHeap();
+		parent[startIndex] = startIndex;
+		open.add(estimate(startIndex), startIndex);
+		while (!open.isEmpty()) {
+			int index = open.remove();
+			if (closed[index] || open.lastKey() != length[index] + estimate(index)) {
+				// expanded already, or queued again since with a shorter trace
+				continue;
+			}
+			closed[index] = true;
+			expanded++;
+			if (index != startIndex && isGoal(index / cols, index % cols)) {
+				metrics.solutionFound();
+				collector.add(rebuildTrace(index, startIndex));
+				metrics.statesPruned(open.size());
+				break;
+			}
+			int row = index / cols;
+			int col = index % cols;
+			for (int dir = 0; dir < DROW.length; dir++) {
+				if (!worthExploring(index, startIndex, dir)) {
+					continue;
+				}
+				int jumpPoint = jump(row, col, dir);
+				if (jumpPoint == NONE || closed[jumpPoint]) {
+					continue;
+				}
+				int steps = Math.abs(jumpPoint / cols - row) + Math.abs(jumpPoint % cols - col);
+				if (parent[jumpPoint] == NONE || length[index] + steps < length[jumpPoint]) {
+					length[jumpPoint] = length[index] + steps;
+					parent[jumpPoint] = index;
+					open.add(length[jumpPoint] + estimate(jumpPoint), jumpPoint);
+					metrics.stateCreated();
+					metrics.storageSize(open.size());
+				}
+			}
+		}
+		this.board = null;
+		length = null;
+		parent = null;
+		closed = null;
+		metrics.stop();
+	}
+
+	/** @return jump points expanded by the last search */
+	public int getExpanded() {
+		return expanded;
+	}
+
+	/** Decide whether a jump point's neighbor in the given direction needs to
+	 * be explored, given the direction the trace arrived in
+	 * @param index row-major jump point
+	 * @param startIndex row-major position of the starting component
+	 * @param dir direction of the neighbor
+	 * @return true unless every trace through that neighbor has a no longer
+	 *         equivalent that does not go through this jump point
+	 */
+	private boolean worthExploring(int index, int startIndex, int dir) {
+		if (index == startIndex) {
+			return true;
+		}
+		int row = index / cols;
+		int col = index % cols;
+		int from = parent[index];
+		int dr = Integer.signum(row - from / cols);
+		int dc = Integer.signum(col - from % cols);
+		if (DROW[dir] == -dr && DCOL[dir] == -dc) {
+			// straight back the way the trace came
+			return false;
+		}
+		if (dc == 0) {
+			// arrived vertically: go on, or turn either way
+			return true;
+		}
+		if (DCOL[dir] == dc) {
+			// arrived horizontally: go on
+			return true;
+		}
+		// arrived horizontally: turn only toward a forced neighbor
+		return board.isOpen(row + DROW[dir], col) && !board.isOpen(row + DROW[dir], col - dc);
+	}
+
+	/** Move in a straight line from a position until reaching a jump point
+	 * @param row row to move from
+	 * @param col column to move from
+	 * @param dir direction to move in
+	 * @return row-major jump point reached, NONE if the line ends first
+	 */
+	private int jump(int row, int col, int dir) {
+		int dr = DROW[dir];
+		int dc = DCOL[dir];
+		while (true) {
+			row += dr;
+			col += dc;
+			if (!board.isOpen(row, col)) {
+				return NONE;
+			}
+			if (isGoal(row, col)) {
+				return row * cols + col;
+			}
+			if (dr == 0) {
+				// a neighbor above or below that going straight on would never reach as directly
+				if ((board.isOpen(row - 1, col) && !board.isOpen(row - 1, col - dc))
+						|| (board.isOpen(row + 1, col) && !board.isOpen(row + 1, col - dc))) {
+					return row * cols + col;
+				}
+			} else if (jump(row, col, 2) != NONE || jump(row, col, 3) != NONE) {
+				return row * cols + col;
+			}
+		}
+	}
+
+	/** Rebuild the trace from the start to a goal by filling in the straight
+	 * runs between consecutive jump points
+	 * @param goal row-major jump point next to the ending component
+	 * @param startIndex row-major position of the starting component
+	 * @return state holding the trace
+	 */
+	private TraceState rebuildTrace(int goal, int startIndex) {
+		int count = 0;
+		for (int index = goal; index != startIndex; index = parent[index]) {
+			count++;
+		}
+		int[] jumpPoints = new int[count + 1];
+		for (int index = goal, i = count; i >= 0; index = parent[index], i--) {
+			jumpPoints[i] = index;
+		}
+		TraceState trace = null;
+		for (int i = 1; i < jumpPoints.length; i++) {
+			int row = jumpPoints[i - 1] / cols;
+			int col = jumpPoints[i - 1] % cols;
+			int dr = Integer.signum(jumpPoints[i] / cols - row);
+			int dc = Integer.signum(jumpPoints[i] % cols - col);
+			while (row * cols + col != jumpPoints[i]) {
+				row += dr;
+				col += dc;
+				if (trace == null) {
+					trace = new TraceState(board, row, col);
+					metrics.stateCreated(trace);
+				} else {
+					trace = new TraceState(trace, row, col);
+					metrics.stateCreated(trace);
+				}
+			}
+		}
+		return trace;
+	}
+
+	/** @param row
+	 * @param col
+	 * @return true if a trace can end at the open position row, col
+	 */
+	private boolean isGoal(int row, int col) {
+		return Math.abs(row - end.x) + Math.abs(col - end.y) == 1;
+	}
+
+	/** @param index row-major position
+	 * @return fewest positions a trace from the position could still need
+	 */
+	private int estimate(int index) {
+		return Math.max(0, Math.abs(index / cols - end.x) + Math.abs(index % cols - end.y) - 1);
+	}
+} // class JumpPointSearch
@@ -0,0 +1,161 @@
+import java.awt.Point;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Scanner;
+import java.util.TreeMap;
+
+/**
+ * A circuit board with any number of nets, each a numbered pair of pins
+ * that must be connected by its own trace, as read from an input file.
+ *
+ * The first line holds the number of rows and columns. Each following line
+ * is one row of whitespace-separated tokens:
+ *  'O' an open position
+ *  'X' an occupied, unavailable position
+ *  a positive integer, one of the two pins of the net with that number
+ * Every net number must appear exactly twice.
+ *
+ * @author Jacob Smith
+ */
+public class MultiNetBoard {
+	/** contents of an open position */
+	public static final int OPEN = 0;
+	/** contents of an occupied, unavailable position */
+	public static final int CLOSED = -1;
+
+	/** number of rows */
+	private final int rows;
+	/** number of columns */
+	private final int cols;
+	/** row-major contents: OPEN, CLOSED, or the number of the net a pin belongs to */
+	private final int[] cells;
+	/** both pins of each net, by net number */
+	private final TreeMap<Integer, Point[]> pins = new TreeMap<>();
+
+	/** Construct a MultiNetBoard from a given board input file
+	 * @param filename file containing a grid of tokens
+	 * @throws FileNotFoundException if the file cannot be opened for reading
+	 * @throws InvalidFileFormatException for any file formatting or content issue
+	 */
+	public MultiNetBoard(String filename) throws FileNotFoundException {
+		Scanner file = new Scanner(new File(filename));
+		try {
+			Scanner header = new Scanner(file.hasNextLine() ? file.nextLine() : "");
+			if (!header.hasNextInt()) {
+				throw new InvalidFileFormatException("First line must contain number of rows and columns.");
+			}
+			rows = header.nextInt();
+			if (!header.hasNextInt()) {
+				throw new InvalidFileFormatException("First line must contain two integers: rows and columns.");
+			}
+			cols = header.nextInt();
+			if (header.hasNext()) {
+				throw new InvalidFileFormatException("First line must contain only rows and columns.");
+			}
+			if (rows <= 0 || cols <= 0) {
+				throw new InvalidFileFormatException("Rows and columns must be positive.");
+			}
+			if ((long) rows * cols > Integer.MAX_VALUE) {
+				throw new InvalidFileFormatException("Board of " + rows + " rows and " + cols + " columns is too large.");
+			}
+
+			cells = new int[rows * cols];
+			for (int r = 0; r < rows; r++) {
+				if (!file.hasNextLine()) {
+					throw new InvalidFileFormatException("Not enough rows of board data. Expected " + rows);
+				}
+				String[] tokens = file.nextLine().trim().split("\\s+");
+				if (tokens.length != cols || tokens[0].isEmpty()) {
+					throw new InvalidFileFormatException(
+							"Row " + r + " has length " + (tokens[0].isEmpty() ? 0 : tokens.length) + " but expected " + cols);
+				}
+				for (int c = 0; c < cols; c++) {
+					cells[r * cols + c] = parseCell(tokens[c], r, c);
+				}
+			}
+			while (file.hasNextLine()) {
+				if (!file.nextLine().trim().isEmpty()) {
+					throw new InvalidFileFormatException("Extra data found after board rows.");
+				}
+			}
+		} finally {
+			file.close();
+		}
+
+		for (Integer net : pins.keySet()) {
+			if (pins.get(net)[1] == null) {
+				throw new InvalidFileFormatException("Net " + net + " has only one pin.");
+			}
+		}
+	}
+
+	/** @param token one token from a row of the board file
+	 * @param r row of the token
+	 * @param c column of the token
+	 * @return contents of the position
+	 * @throws InvalidFileFormatException if the token is not valid
+	 */
+	private int parseCell(String token, int r, int c) {
+		if (token.equals("O")) {
+			return OPEN;
+		}
+		if (token.equals("X")) {
+			return CLOSED;
+		}
+		int net;
+		try {
+			net = Integer.parseInt(token);
+		} catch (NumberFormatException e) {
+			net = 0;
+		}
+		if (net <= 0) {
+			throw new InvalidFileFormatException("Invalid token '" + token + "' at row " + r + ", col " + c);
+		}
+		Point[] pair = pins.computeIfAbsent(net, n -> new Point[2]);
+		if (pair[1] != null) {
+			throw new InvalidFileFormatException("Net " + net + " has more than two pins.");
+		}
+		pair[pair[0] == null ? 0 : 1] = new Point(r, c);
+		return net;
+	}
+
+	/** @return number of rows in this board */
+	public int numRows() {
+		return rows;
+	}
+
+	/** @return number of columns in this board */
+	public int numCols() {
+		return cols;
+	}
+
+	/** @param row row coordinate
+	 * @param col col coordinate
+	 * @return OPEN, CLOSED, or the number of the net whose pin is at row, col
+	 * @throws ArrayIndexOutOfBoundsException if row, col is not on the board
+	 */
+	public int cellAt(int row, int col) {
+		if (row < 0 || row >= rows || col < 0 || col >= cols) {
+			throw new ArrayIndexOutOfBoundsException("row " + row + ", col " + col);
+		}
+		return cells[row * cols + col];
+	}
+
+	/** @return net numbers on this board, in increasing order */
+	public ArrayList<Integer> getNets() {
+		return new ArrayList<Integer>(pins.keySet());
+	}
+
+	/** @param net net number
+	 * @return the net's two pins, in the order they appear in the file
+	 * @throws IllegalArgumentException if there is no such net
+	 */
+	public Point[] getPins(int net) {
+		Point[] pair = pins.get(net);
+		if (pair == null) {
+			throw new IllegalArgumentException("No net " + net);
+		}
+		return new Point[] { new Point(pair[0]), new Point(pair[1]) };
+	}
+} // class MultiNetBoard
@@ -0,0 +1,447 @@
+import java.awt.Point;
+import java.io.FileNotFoundException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Routes every net of a MultiNetBoard with its own trace, no two traces
+ * sharing a position.
+ *
+ * Nets are routed one at a time, shortest first by the Manhattan distance
+ * between their pins, each by a ShortestPathSearch of a CircuitBoard in
+ * which the net's pins are the components and every other pin and trace is
+ * closed. When a net cannot be routed around the traces already laid, it is
+ * routed across the fewest positions of other traces it can; if that
+ * crosses only one net, that net is ripped up and goes back on the end of
+ * the queue to be rerouted. A net may be
+ * ripped up only a few times, so routing always finishes, possibly with
+ * some nets left unrouted.
+ *
+ * Consecutive nets in the queue whose pins lie in separate areas of the
+ * board are routed at the same time. Each is confined to the rectangle
+ * around its pins, widened by a small margin, so their traces cannot meet;
+ * a net that does not fit in its rectangle is routed again on its own.
+ * Which nets share a batch depends only on the board, so the result is the
+ * same for any number of threads.
+ *
+ * @author Jacob Smith
+ */
+public class MultiNetRouter {
+	/** positions a net's rectangle extends past its pins when routed alongside other nets */
+	private static final int MARGIN = 2;
+	/** times a net can be ripped up before it is left in the way of other nets */
+	private static final int MAX_RIP_UPS = 5;
+	/** most nets ripped up to make way for one */
+	private static final int MAX_BLOCKERS = 1;
+	/** row and column offsets of the four neighbors of a position */
+	private static final int[] DROW = {-1, 1, 0, 0};
+	private static final int[] DCOL = {0, 0, -1, 1};
+	/** number of threads routing nets at the same time */
+	private final int threads;
+
+	/** Launch the program.
+	 *
+	 * @param args one required argument and one optional:
+	 *  first arg: multi-net board file
+	 *  second arg: number of threads, defaults to the number of processors
+	 */
+	public static void main(String[] args) {
+		if (args.length < 1 || args.length > 2) {
+			printUsage();
+			return;
+		}
+		int threads = Runtime.getRuntime().availableProcessors();
+		if (args.length == 2) {
+			try {
+				threads = Integer.parseInt(args[1]);
+			} catch (NumberFormatException e) {
+				threads = 0;
+			}
+			if (threads <= 0) {
+				printUsage();
+				return;
+			}
+		}
+		MultiNetBoard board;
+		try {
+			board = new MultiNetBoard(args[0]);
+		} catch (InvalidFileFormatException e) {
+			System.out.println("InvalidFileFormatException");
+			return;
+		} catch (FileNotFoundException e) {
+			System.out.println("FileNotFoundException");
+			return;
+		}
+
+		Routing routing = new MultiNetRouter(threads).route(board);
+		System.out.println(routing);
+		System.out.printf("Routed %d of %d nets, total trace length %d, %d rip-ups\n", routing.getRoutedCount(),
+				board.getNets().size(), routing.getTotalLength(), routing.getRipUps());
+		if (!routing.getUnrouted().isEmpty()) {
+			System.out.println("Unrouted nets: " + routing.getUnrouted());
+		}
+	}
+
+	/** Print instructions for running MultiNetRouter from the command line. */
+	private static void printUsage() {
+		System.out.println("To Run The Program Please Follow The Following Input Structure:");
+		System.out.println("java MultiNetRouter <InputFileName> [Threads]");
+		System.out.println("InputFileName -- board whose rows hold O, X, or a net number for each of a net's two pins");
+		System.out.println("Threads -- number of nets routed at once, defaults to the number of processors");
+		System.out.println("Example:");
+		System.out.println("java MultiNetRouter nets.dat 4");
+	}
+
+	/** Constructor using one thread per available processor */
+	public MultiNetRouter() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	/** Constructor
+	 * @param threads number of threads routing nets at the same time
+	 */
+	public MultiNetRouter(int threads) {
+		this.threads = threads;
+	}
+
+	/** Route every net on a board
+	 * @param board board to route, not modified
+	 * @return traces found for the nets
+	 */
+	public Routing route(MultiNetBoard board) {
+		Routing routing = new Routing(board);
+		ArrayList<Integer> order = board.getNets();
+		order.sort(Comparator.comparingInt((Integer net) -> pinDistance(board, net)).thenComparing(Comparator.naturalOrder()));
+		ArrayDeque<Integer> queue = new ArrayDeque<>(order);
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			while (!queue.isEmpty()) {
+				List<Integer> batch = nextBatch(board, queue);
+				if (batch.size() == 1) {
+					routeWithRipUp(routing, batch.get(0), queue);
+					continue;
+				}
+				// traces confined to separate rectangles cannot meet, so none of them changes what the others see
+				List<ArrayList<Point>> traces = pool.submit(() -> batch.parallelStream()
+						.map(net -> findTrace(board, routing.owner, net, true))
+						.collect(Collectors.toList())).join();
+				for (int i = 0; i < batch.size(); i++) {
+					if (traces.get(i) != null) {
+						routing.commit(batch.get(i), traces.get(i));
+					}
+				}
+				// only once the batch is laid, since these may leave their rectangles
+				for (int i = 0; i < batch.size(); i++) {
+					if (traces.get(i) == null) {
+						routeWithRipUp(routing, batch.get(i), queue);
+					}
+				}
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		// nets given up on may fit now that other nets have been rerouted
+		for (Integer net : new ArrayList<Integer>(routing.unrouted)) {
+			ArrayList<Point> trace = findTrace(board, routing.owner, net, false);
+			if (trace != null) {
+				routing.unrouted.remove(net);
+				routing.commit(net, trace);
+			}
+		}
+		Collections.sort(routing.unrouted);
+		return routing;
+	}
+
+	/** Route one net anywhere on the board, ripping up the nets in its way if needed
+	 * @param routing traces laid so far
+	 * @param net net to route
+	 * @param queue nets waiting to be routed, where ripped up nets are added
+	 */
+	private static void routeWithRipUp(Routing routing, int net, ArrayDeque<Integer> queue) {
+		MultiNetBoard board = routing.board;
+		ArrayList<Point> trace = findTrace(board, routing.owner, net, false);
+		if (trace == null) {
+			trace = findCrossingTrace(routing, net);
+			if (trace == null) {
+				// blocked even by nets that can be ripped up
+				routing.unrouted.add(net);
+				return;
+			}
+			TreeSet<Integer> blockers = new TreeSet<>();
+			for (Point p : trace) {
+				int owner = routing.owner[p.x * board.numCols() + p.y];
+				if (owner != MultiNetBoard.OPEN) {
+					blockers.add(owner);
+				}
+			}
+			if (blockers.size() > MAX_BLOCKERS) {
+				routing.unrouted.add(net);
+				return;
+			}
+			for (Integer blocker : blockers) {
+				routing.ripUp(blocker);
+				queue.addLast(blocker);
+			}
+		}
+		routing.commit(net, trace);
+	}
+
+	/** Find the trace for one net that crosses the fewest positions of other
+	 * nets' traces, shortest among those, never crossing a net that has been
+	 * ripped up too many times
+	 * @param routing traces laid so far
+	 * @param net net to route
+	 * @return positions of the trace from the net's first pin to its second, or null if there is none
+	 */
+	private static ArrayList<Point> findCrossingTrace(Routing routing, int net) {
+		MultiNetBoard board = routing.board;
+		int rows = board.numRows();
+		int cols = board.numCols();
+		Point[] pins = board.getPins(net);
+		// crossing one more position of another trace costs more than any trace length
+		long crossing = (long) rows * cols + 1;
+		int start = pins[0].x * cols + pins[0].y;
+		long[] cost = new long[rows * cols];
+		int[] from = new int[rows * cols];
+		Arrays.fill(cost, Long.MAX_VALUE);
+		cost[start] = 0;
+		PriorityQueue<long[]> frontier = new PriorityQueue<>((a, b) -> Long.compare(a[0], b[0]));
+		frontier.add(new long[] { 0, start });
+		while (!frontier.isEmpty()) {
+			long[] entry = frontier.poll();
+			int index = (int) entry[1];
+			int row = index / cols;
+			int col = index % cols;
+			if (entry[0] > cost[index]) {
+				// queued again since with a lower cost
+				continue;
+			}
+			if (index != start && Math.abs(row - pins[1].x) + Math.abs(col - pins[1].y) == 1) {
+				ArrayList<Point> trace = new ArrayList<>();
+				for (int at = index; at != start; at = from[at]) {
+					trace.add(0, new Point(at / cols, at % cols));
+				}
+				return trace;
+			}
+			for (int dir = 0; dir < DROW.length; dir++) {
+				int r = row + DROW[dir];
+				int c = col + DCOL[dir];
+				if (r < 0 || r >= rows || c < 0 || c >= cols || board.cellAt(r, c) != MultiNetBoard.OPEN) {
+					continue;
+				}
+				int neighbor = r * cols + c;
+				int owner = routing.owner[neighbor];
+				if (owner != MultiNetBoard.OPEN && routing.ripCounts.getOrDefault(owner, 0) >= MAX_RIP_UPS) {
+					continue;
+				}
+				long next = entry[0] + 1 + (owner == MultiNetBoard.OPEN ? 0 : crossing);
+				if (next < cost[neighbor]) {
+					cost[neighbor] = next;
+					from[neighbor] = index;
+					frontier.add(new long[] { next, neighbor });
+				}
+			}
+		}
+		return null;
+	}
+
+	/** Take the longest run of nets from the front of the queue whose rectangles do not overlap
+	 * @param board board being routed
+	 * @param queue nets waiting to be routed
+	 * @return nets taken, at least one
+	 */
+	private static List<Integer> nextBatch(MultiNetBoard board, ArrayDeque<Integer> queue) {
+		ArrayList<Integer> batch = new ArrayList<>();
+		ArrayList<int[]> taken = new ArrayList<>();
+		while (!queue.isEmpty()) {
+			int[] bounds = bounds(board, queue.peekFirst());
+			for (int[] other : taken) {
+				if (bounds[0] <= other[2] && other[0] <= bounds[2] && bounds[1] <= other[3] && other[1] <= bounds[3]) {
+					return batch;
+				}
+			}
+			batch.add(queue.pollFirst());
+			taken.add(bounds);
+		}
+		return batch;
+	}
+
+	/** @param board board being routed
+	 * @param net net number
+	 * @return rectangle around the net's pins widened by MARGIN, as {top, left, bottom, right}
+	 */
+	private static int[] bounds(MultiNetBoard board, int net) {
+		Point[] pins = board.getPins(net);
+		return new int[] { Math.max(0, Math.min(pins[0].x, pins[1].x) - MARGIN),
+				Math.max(0, Math.min(pins[0].y, pins[1].y) - MARGIN),
+				Math.min(board.numRows() - 1, Math.max(pins[0].x, pins[1].x) + MARGIN),
+				Math.min(board.numCols() - 1, Math.max(pins[0].y, pins[1].y) + MARGIN) };
+	}
+
+	/** @param board board being routed
+	 * @param net net number
+	 * @return Manhattan distance between the net's pins
+	 */
+	private static int pinDistance(MultiNetBoard board, int net) {
+		Point[] pins = board.getPins(net);
+		return Math.abs(pins[0].x - pins[1].x) + Math.abs(pins[0].y - pins[1].y);
+	}
+
+	/** Find a shortest trace for one net
+	 * @param board board being routed
+	 * @param owner row-major net number of the trace at each position, OPEN where there is none
+	 * @param net net to route
+	 * @param bounded true to stay within the net's rectangle
+	 * @return positions of the trace from the net's first pin to its second, empty if the pins
+	 *         are neighbors, or null if there is no trace
+	 */
+	private static ArrayList<Point> findTrace(MultiNetBoard board, int[] owner, int net, boolean bounded) {
+		Point[] pins = board.getPins(net);
+		if (pinDistance(board, net) == 1) {
+			return new ArrayList<Point>();
+		}
+		int[] bounds = bounded ? bounds(board, net)
+				: new int[] { 0, 0, board.numRows() - 1, board.numCols() - 1 };
+		char[][] contents = new char[board.numRows()][board.numCols()];
+		for (int r = 0; r < contents.length; r++) {
+			for (int c = 0; c < contents[r].length; c++) {
+				int cell = board.cellAt(r, c);
+				if (r < bounds[0] || c < bounds[1] || r > bounds[2] || c > bounds[3]) {
+					contents[r][c] = 'X';
+				} else if (cell == net) {
+					contents[r][c] = r == pins[0].x && c == pins[0].y ? '1' : '2';
+				} else if (cell != MultiNetBoard.OPEN || owner[r * contents[r].length + c] != MultiNetBoard.OPEN) {
+					contents[r][c] = 'X';
+				} else {
+					contents[r][c] = 'O';
+				}
+			}
+		}
+		BestPathCollector shortest = new BestPathCollector(1);
+		new ShortestPathSearch().search(new CircuitBoard(contents), shortest);
+		return shortest.getBestPaths().isEmpty() ? null : shortest.getBestPaths().get(0).getPath();
+	}
+
+	/**
+	 * The traces laid for the nets of one board.
+	 */
+	public static class Routing {
+		/** board being routed */
+		private final MultiNetBoard board;
+		/** row-major net number of the trace at each position, OPEN where there is none */
+		private final int[] owner;
+		/** positions of each routed net's trace, by net number */
+		private final TreeMap<Integer, ArrayList<Point>> traces = new TreeMap<>();
+		/** nets that could not be routed */
+		private final ArrayList<Integer> unrouted = new ArrayList<>();
+		/** times each net has been ripped up */
+		private final HashMap<Integer, Integer> ripCounts = new HashMap<>();
+		/** total rip-ups */
+		private int ripUps;
+
+		/** Constructor for a board with no traces laid
+		 * @param board board being routed
+		 */
+		Routing(MultiNetBoard board) {
+			this.board = board;
+			owner = new int[board.numRows() * board.numCols()];
+		}
+
+		/** Lay a net's trace
+		 * @param net net number
+		 * @param trace positions of the trace
+		 */
+		private void commit(int net, ArrayList<Point> trace) {
+			for (Point p : trace) {
+				owner[p.x * board.numCols() + p.y] = net;
+			}
+			traces.put(net, trace);
+		}
+
+		/** Remove a net's trace
+		 * @param net net number
+		 */
+		private void ripUp(int net) {
+			for (Point p : traces.remove(net)) {
+				owner[p.x * board.numCols() + p.y] = MultiNetBoard.OPEN;
+			}
+			ripCounts.merge(net, 1, Integer::sum);
+			ripUps++;
+		}
+
+		/** @param net net number
+		 * @return positions of the net's trace, empty if its pins are neighbors, null if it was not routed
+		 */
+		public ArrayList<Point> getTrace(int net) {
+			return traces.get(net);
+		}
+
+		/** @return numbers of the nets that could not be routed, in increasing order */
+		public ArrayList<Integer> getUnrouted() {
+			return unrouted;
+		}
+
+		/** @return number of nets routed */
+		public int getRoutedCount() {
+			return traces.size();
+		}
+
+		/** @return number of positions covered by all traces */
+		public int getTotalLength() {
+			int length = 0;
+			for (ArrayList<Point> trace : traces.values()) {
+				length += trace.size();
+			}
+			return length;
+		}
+
+		/** @return total number of times a net was ripped up */
+		public int getRipUps() {
+			return ripUps;
+		}
+
+		/** @param row row coordinate
+		 * @param col col coordinate
+		 * @return number of the net whose pin or trace is at row, col, or MultiNetBoard.OPEN or CLOSED
+		 */
+		public int netAt(int row, int col) {
+			int cell = board.cellAt(row, col);
+			return cell == MultiNetBoard.OPEN ? owner[row * board.numCols() + col] : cell;
+		}
+
+		/* (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		public String toString() {
+			int width = 1;
+			for (Integer net : board.getNets()) {
+				width = Math.max(width, net.toString().length());
+			}
+			StringBuilder str = new StringBuilder();
+			for (int row = 0; row < board.numRows(); row++) {
+				for (int col = 0; col < board.numCols(); col++) {
+					int net = netAt(row, col);
+					String token = net == MultiNetBoard.OPEN ? "O" : net == MultiNetBoard.CLOSED ? "X" : Integer.toString(net);
+					str.append(token);
+					for (int pad = token.length(); pad <= width; pad++) {
+						str.append(' ');
+					}
+				}
+				str.append("\n");
+			}
+			return str.toString();
+		}
+	}
+} // class MultiNetRouter
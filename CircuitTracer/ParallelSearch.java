@@ -0,0 +1,226 @@
+import java.awt.Point;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Depth-first brute force search spread across the worker threads of a
+ * ForkJoinPool.
+ *
+ * Each task drains its own array-backed stack Storage. Whenever few tasks
+ * are waiting to be stolen, a task forks one of the states it would have
+ * stored as a new task instead, so idle workers always have part of the
+ * frontier to steal. Tasks hand solutions to the collector one at a time as
+ * they find them, and all prune against one shared, atomically updated
+ * longest length still worth exploring: the collector's best length, or one
+ * less once the collector is full, as in BruteForceSearch. Traces are
+ * reported in the order workers happened to find them.
+ *
+ * Dominance pruning works as in BruteForceSearch, with the table of best
+ * path lengths per position shared by all tasks and updated atomically.
+ *
+ * @author Jacob Smith
+ */
+public class ParallelSearch implements SearchEngine {
+	/** fork new tasks while fewer than this many forked tasks are waiting in the current worker's queue */
+	private static final int SURPLUS_TASKS = 2;
+	/** number of worker threads */
+	private final int parallelism;
+	/** true to drop states dominated by a shorter path to the same position */
+	private final boolean prune;
+	/** counters for the last search, peak storage being the largest of any one task's */
+	private final SearchMetrics metrics = new SearchMetrics();
+
+	/** Constructor using one worker thread per available processor */
+	public ParallelSearch() {
+		this(Runtime.getRuntime().availableProcessors(), false);
+	}
+
+	/** Constructor
+	 * @param parallelism number of worker threads to search with
+	 * @param prune true to drop states that reach a position by a longer path than one already seen
+	 */
+	public ParallelSearch(int parallelism, boolean prune) {
+		this.parallelism = parallelism;
+		this.prune = prune;
+	}
+
+	@Override
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void search(CircuitBoard board, SolutionCollector collector) {
+		metrics.start(board);
+		AtomicInteger maxLength = new AtomicInteger(Integer.MAX_VALUE);
+
+		Point start = board.getStartingPoint();
+		int r = start.x;
+		int c = start.y;
+
+		AtomicIntegerArray bestAt = null;
+		if (prune) {
+			bestAt = new AtomicIntegerArray(board.numRows() * board.numCols());
+			for (int i = 0; i < bestAt.length(); i++) {
+				bestAt.set(i, Integer.MAX_VALUE);
+			}
+		}
+
+		SearchTask root = new SearchTask(maxLength, collector, bestAt, board.numCols(), metrics);
+		root.counts.start(board);
+		if (board.isOpen(r - 1, c)) root.storeLocally(new TraceState(board, r - 1, c));
+		if (board.isOpen(r + 1, c)) root.storeLocally(new TraceState(board, r + 1, c));
+		if (board.isOpen(r, c - 1)) root.storeLocally(new TraceState(board, r, c - 1));
+		if (board.isOpen(r, c + 1)) root.storeLocally(new TraceState(board, r, c + 1));
+
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try {
+			pool.invoke(root);
+		} finally {
+			pool.shutdown();
+		}
+
+		metrics.stop();
+	}
+
+	/**
+	 * Searches every state reachable from the states in its own Storage,
+	 * forking part of that work off to other workers when they run dry.
+	 */
+	@SuppressWarnings("serial")
+	private static class SearchTask extends RecursiveAction {
+		/** states waiting to be explored by this task */
+		private final Storage<TraceState> stateStore = Storage.getArrayStackInstance();
+		/** longest path still worth exploring, from the collector */
+		private final AtomicInteger maxLength;
+		/** receives solutions, shared by every task and locked while in use */
+		private final SolutionCollector collector;
+		/** shortest path length seen at each row-major position, null when not pruning */
+		private final AtomicIntegerArray bestAt;
+		/** number of columns on the board, for row-major positions */
+		private final int cols;
+		/** shared counters for the whole search */
+		private final SearchMetrics metrics;
+		/** this task's own counters, merged into metrics when it finishes */
+		private final SearchMetrics counts = new SearchMetrics();
+
+		/** Constructor
+		 * @param maxLength shared longest path still worth exploring
+		 * @param collector shared solution collector
+		 * @param bestAt shared best path length per position, null when not pruning
+		 * @param cols number of columns on the board
+		 * @param metrics shared counters for the whole search
+		 */
+		SearchTask(AtomicInteger maxLength, SolutionCollector collector, AtomicIntegerArray bestAt, int cols,
+				SearchMetrics metrics) {
+			this.maxLength = maxLength;
+			this.collector = collector;
+			this.bestAt = bestAt;
+			this.cols = cols;
+			this.metrics = metrics;
+		}
+
+		@Override
+		protected void compute() {
+			ArrayList<SearchTask> forked = new ArrayList<>();
+			while (!stateStore.isEmpty()) {
+				TraceState current = stateStore.retrieve();
+
+				if (current.pathLength() > maxLength.get()) {
+					counts.statePruned();
+					continue;
+				}
+				if (dominated(current)) {
+					continue;
+				}
+
+				if (current.isSolution()) {
+					metrics.solutionFound();
+					synchronized (collector) {
+						// another task may have filled the collector since current was checked
+						if (current.pathLength() <= maxLength.get()) {
+							collector.add(current);
+							maxLength.set(collector.isFull() ? collector.bestLength() - 1 : collector.bestLength());
+						}
+					}
+				}
+				else {
+					int cr = current.getRow();
+					int cc = current.getCol();
+
+					if (current.isOpen(cr - 1, cc)) {
+						store(new TraceState(current, cr - 1, cc), forked);
+					}
+					if (current.isOpen(cr + 1, cc)) {
+						store(new TraceState(current, cr + 1, cc), forked);
+					}
+					if (current.isOpen(cr, cc - 1)) {
+						store(new TraceState(current, cr, cc - 1), forked);
+					}
+					if (current.isOpen(cr, cc + 1)) {
+						store(new TraceState(current, cr, cc + 1), forked);
+					}
+				}
+			}
+			metrics.merge(counts);
+			for (SearchTask task : forked) {
+				task.join();
+			}
+		}
+
+		/** Store a new state locally, or fork it as its own task if other workers may need work
+		 * @param state state to explore
+		 * @param forked tasks forked by this task so far
+		 */
+		private void store(TraceState state, ArrayList<SearchTask> forked) {
+			if (state.pathLength() > maxLength.get()) {
+				counts.statePruned();
+				return;
+			}
+			if (dominated(state)) {
+				return;
+			}
+			if (!stateStore.isEmpty() && getSurplusQueuedTaskCount() < SURPLUS_TASKS) {
+				SearchTask task = new SearchTask(maxLength, collector, bestAt, cols, metrics);
+				task.storeLocally(state);
+				task.fork();
+				forked.add(task);
+			} else {
+				storeLocally(state);
+			}
+		}
+
+		/** Store a new state in this task's own storage, counting it
+		 * @param state state to explore
+		 */
+		private void storeLocally(TraceState state) {
+			stateStore.store(state);
+			counts.stateCreated(state);
+			counts.storageSize(stateStore.size());
+		}
+
+		/** Check a state's path length against the best seen at its position,
+		 * recording it if it is shorter.
+		 * @param state state to check
+		 * @return true if a strictly shorter path has already reached the state's position
+		 */
+		private boolean dominated(TraceState state) {
+			if (bestAt == null) {
+				return false;
+			}
+			int index = state.getRow() * cols + state.getCol();
+			int length = state.pathLength();
+			int seen = bestAt.get(index);
+			while (length < seen) {
+				if (bestAt.compareAndSet(index, seen, length)) {
+					return false;
+				}
+				seen = bestAt.get(index);
+			}
+			return length > seen;
+		}
+	}
+} // class ParallelSearch
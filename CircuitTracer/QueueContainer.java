@@ -0,0 +1,98 @@
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * StateContainer over any java.util.Queue, retrieving elements in the
+ * order the queue gives them out - first in, first out for most queues,
+ * smallest first for a PriorityQueue.
+ *
+ * Searches record the container's size after every store, so size() must
+ * be constant time. Thread-safe queues such as ConcurrentLinkedQueue walk
+ * every element to count them, so for those the container keeps its own
+ * count instead, as TreiberStack does.
+ *
+ * @author Jacob Smith
+ */
+public class QueueContainer<T> implements StateContainer<T> {
+	/** elements */
+	private final Queue<T> queue;
+	/** true if queue gives elements out in the order they were added */
+	private final boolean firstInFirstOut;
+	/** true if queue is safe for use by many threads at once */
+	private final boolean threadSafe;
+	/** number of elements, updated just after each add or remove; null unless threadSafe */
+	private final AtomicInteger count;
+
+	/** Constructor
+	 * @param queue empty queue to hold the elements
+	 * @param firstInFirstOut true if queue gives elements out in the order they were added
+	 */
+	public QueueContainer(Queue<T> queue, boolean firstInFirstOut) {
+		this(queue, firstInFirstOut, false);
+	}
+
+	/** Constructor
+	 * @param queue empty queue to hold the elements
+	 * @param firstInFirstOut true if queue gives elements out in the order they were added
+	 * @param threadSafe true if queue is safe for use by many threads at once
+	 */
+	public QueueContainer(Queue<T> queue, boolean firstInFirstOut, boolean threadSafe) {
+		this.queue = queue;
+		this.firstInFirstOut = firstInFirstOut;
+		this.threadSafe = threadSafe;
+		count = threadSafe ? new AtomicInteger() : null;
+	}
+
+	@Override
+	public void store(T element) {
+		queue.add(element);
+		if (count != null) {
+			count.incrementAndGet();
+		}
+	}
+
+	@Override
+	public T retrieve() {
+		T element = queue.remove();
+		if (count != null) {
+			count.decrementAndGet();
+		}
+		return element;
+	}
+
+	@Override
+	public T poll() {
+		T element = queue.poll();
+		if (element != null && count != null) {
+			count.decrementAndGet();
+		}
+		return element;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return queue.isEmpty();
+	}
+
+	/** @return number of elements, which may be out of date by the time it is returned
+	 *  if other threads are using a thread-safe queue
+	 */
+	@Override
+	public int size() {
+		if (count != null) {
+			// a remove can be counted before the add it removed, so the count can briefly dip below 0
+			return Math.max(0, count.get());
+		}
+		return queue.size();
+	}
+
+	@Override
+	public boolean isFirstInFirstOut() {
+		return firstInFirstOut;
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return threadSafe;
+	}
+} // class QueueContainer
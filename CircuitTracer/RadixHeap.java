@@ -0,0 +1,136 @@
+import java.util.Arrays;
+
+/**
+ * Monotone priority queue of int values with long keys, for searches such
+ * as Dijkstra's that never add a key smaller than the last one removed.
+ *
+ * Entries are kept in 65 buckets by the highest bit in which their key
+ * differs from the last key removed, bucket 0 holding keys equal to it.
+ * Removing from an empty bucket 0 finds the smallest key in the first
+ * non-empty bucket and spreads that bucket over the lower ones, so each
+ * entry moves down at most 64 times and no entry is ever compared with
+ * another as in a binary heap. Keys and values are kept in primitive
+ * arrays that double in size when full.
+ *
+ * @author Jacob Smith
+ */
+public class RadixHeap {
+	/** initial size of each bucket's arrays */
+	private static final int DEFAULT_CAPACITY = 16;
+	/** keys in each bucket */
+	private final long[][] keys = new long[65][];
+	/** values in each bucket, matching keys */
+	private final int[][] values = new int[65][];
+	/** number of entries in each bucket */
+	private final int[] sizes = new int[65];
+	/** last key removed, 0 before the first removal */
+	private long last;
+	/** number of entries in the heap */
+	private int size;
+
+	/** Add an entry
+	 * @param key priority of the entry, no smaller than the last key removed
+	 * @param value value of the entry
+	 * @throws IllegalArgumentException if key is smaller than the last key removed
+	 */
+	public void add(long key, int value) {
+		if (key < last) {
+			throw new IllegalArgumentException("key " + key + " is smaller than last key removed " + last);
+		}
+		put(bucket(key), key, value);
+		size++;
+	}
+
+	/** Remove an entry with the smallest key; its key is then lastKey()
+	 * @return value of the entry
+	 * @throws IllegalStateException if the heap is empty
+	 */
+	public int remove() {
+		if (size == 0) {
+			throw new IllegalStateException("heap is empty");
+		}
+		if (sizes[0] == 0) {
+			int from = 1;
+			while (sizes[from] == 0) {
+				from++;
+			}
+			long[] fromKeys = keys[from];
+			int[] fromValues = values[from];
+			int count = sizes[from];
+			long min = fromKeys[0];
+			for (int i = 1; i < count; i++) {
+				min = Math.min(min, fromKeys[i]);
+			}
+			last = min;
+			sizes[from] = 0;
+			// every key in the bucket now differs from last in a lower bit
+			for (int i = 0; i < count; i++) {
+				put(bucket(fromKeys[i]), fromKeys[i], fromValues[i]);
+			}
+		}
+		size--;
+		return values[0][--sizes[0]];
+	}
+
+	/** @return smallest key in the heap, without removing it
+	 * @throws IllegalStateException if the heap is empty
+	 */
+	public long peekKey() {
+		if (size == 0) {
+			throw new IllegalStateException("heap is empty");
+		}
+		if (sizes[0] > 0) {
+			return last;
+		}
+		int from = 1;
+		while (sizes[from] == 0) {
+			from++;
+		}
+		long min = keys[from][0];
+		for (int i = 1; i < sizes[from]; i++) {
+			min = Math.min(min, keys[from][i]);
+		}
+		return min;
+	}
+
+	/** @return key of the entry last removed */
+	public long lastKey() {
+		return last;
+	}
+
+	/** @return number of entries in the heap */
+	public int size() {
+		return size;
+	}
+
+	/** @return true if the heap has no entries */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/** @param key key no smaller than last
+	 * @return bucket for the key: 0 if it equals last, else one more than the
+	 *         highest bit in which it differs from last
+	 */
+	private int bucket(long key) {
+		return key == last ? 0 : 64 - Long.numberOfLeadingZeros(key ^ last);
+	}
+
+	/** Append an entry to a bucket, growing its arrays if they are full
+	 * @param bucket bucket to add to
+	 * @param key key of the entry
+	 * @param value value of the entry
+	 */
+	private void put(int bucket, long key, int value) {
+		if (keys[bucket] == null) {
+			keys[bucket] = new long[DEFAULT_CAPACITY];
+			values[bucket] = new int[DEFAULT_CAPACITY];
+		} else if (sizes[bucket] == keys[bucket].length) {
+			keys[bucket] = Arrays.copyOf(keys[bucket], 2 * sizes[bucket]);
+			values[bucket] = Arrays.copyOf(values[bucket], 2 * sizes[bucket]);
+		}
+		keys[bucket][sizes[bucket]] = key;
+		values[bucket][sizes[bucket]] = value;
+		sizes[bucket]++;
+	}
+} // class RadixHeap
@@ -0,0 +1,105 @@
+import java.util.AbstractQueue;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Unsynchronized queue backed by a circular array whose length is always a
+ * power of two, so positions wrap around with a mask instead of a division.
+ * The array doubles in size when full.
+ *
+ * @author Jacob Smith
+ */
+public class RingBufferQueue<T> extends AbstractQueue<T> {
+	/** initial array size, a power of two */
+	private static final int DEFAULT_CAPACITY = 16;
+	/** elements, front of the queue at index head */
+	private Object[] elements = new Object[DEFAULT_CAPACITY];
+	/** index of the front element */
+	private int head;
+	/** number of elements in the queue */
+	private int size;
+	/** number of changes to the queue, so iterators can detect them */
+	private int modCount;
+
+	@Override
+	public boolean offer(T element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		if (size == elements.length) {
+			grow();
+		}
+		elements[(head + size) & (elements.length - 1)] = element;
+		size++;
+		modCount++;
+		return true;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T poll() {
+		if (size == 0) {
+			return null;
+		}
+		T element = (T) elements[head];
+		elements[head] = null;
+		head = (head + 1) & (elements.length - 1);
+		size--;
+		modCount++;
+		return element;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T peek() {
+		return (T) elements[head];
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	@Override
+	public Iterator<T> iterator() {
+		return new Iterator<T>() {
+			/** position of the next element, counted from the front */
+			private int next;
+			/** modCount the iterator expects */
+			private final int expectedModCount = modCount;
+
+			@Override
+			public boolean hasNext() {
+				return next < size;
+			}
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public T next() {
+				if (modCount != expectedModCount) {
+					throw new ConcurrentModificationException();
+				}
+				if (next >= size) {
+					throw new NoSuchElementException();
+				}
+				return (T) elements[(head + next++) & (elements.length - 1)];
+			}
+		};
+	}
+
+	/** Double the array, unwrapping the elements so the front is at index 0 */
+	private void grow() {
+		Object[] larger = new Object[elements.length * 2];
+		int tail = elements.length - head;
+		System.arraycopy(elements, head, larger, 0, tail);
+		System.arraycopy(elements, 0, larger, tail, head);
+		elements = larger;
+		head = 0;
+	}
+} // class RingBufferQueue
@@ -0,0 +1,239 @@
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure how every search engine and Storage combination scales with board
+ * size, on boards from BoardGenerator of each layout from 10x10 up to
+ * 2000x2000. Every engine is asked for one shortest trace, the most any of
+ * them can produce on a large open board, and the results are printed as CSV:
+ * the search's time and states from SearchMetrics, and the peak heap in use
+ * during the search.
+ *
+ * Each measurement runs in its own JVM, so one search cannot leave garbage
+ * or compiled code behind for the next, the heap peak belongs to that search
+ * alone, and a search still running after the time limit can be stopped.
+ * That JVM solves a 10x10 board of the same layout first, untimed, so the
+ * JIT compiler has already run; the time limit covers both searches. Once
+ * an engine runs out of time or memory on a layout it is not tried on
+ * larger boards of that layout.
+ *
+ * @author Jacob Smith
+ */
+public class ScalingBenchmark {
+	/** side lengths of the square boards measured */
+	private static final int[] SIZES = { 10, 20, 50, 100, 200, 500, 1000, 2000 };
+	/** engines measured: CircuitTracer storage types, and Storage data structures searched by brute force */
+	private static final String[] ENGINES = { "-s", "-s -prune", "-sa", "-sa -prune", "deque", "deque -prune",
+			"-q", "-q -prune", "-qa", "-qa -prune", "concurrent", "concurrent -prune", "-b", "-a", "-d", "-p",
+			"-p -prune", "-m", "-i", "-w", "-t", "-j" };
+	/** seed for the generated boards, so every run measures the same boards */
+	private static final long SEED = 2000;
+	/** side length of the board solved to warm up before a measurement */
+	private static final int WARM_UP_SIZE = 10;
+	/** default largest board size */
+	private static final int DEFAULT_MAX_SIZE = 2000;
+	/** default seconds a measurement may take */
+	private static final int DEFAULT_SECONDS = 10;
+	/** first argument given to the JVM that makes one measurement */
+	private static final String RUN = "-run";
+	/** column names of the CSV output */
+	private static final String CSV_HEADER = "layout,size,engine,status,length," + SearchMetrics.CSV_HEADER
+			+ ",peakHeapBytes";
+
+	/** Launch the benchmark.
+	 *
+	 * @param args three optional arguments:
+	 *  first arg: layout to measure, one of maze, open, random or spiral, or all (the default)
+	 *  second arg: largest board size, defaults to 2000
+	 *  third arg: seconds a measurement may take, defaults to 10
+	 */
+	public static void main(String[] args) {
+		if (args.length == 4 && args[0].equals(RUN)) {
+			measure(BoardGenerator.Layout.valueOf(args[1]), Integer.parseInt(args[2]), args[3]);
+			// worker threads of a parallel engine must not keep this JVM alive
+			System.exit(0);
+		}
+		if (args.length > 3) {
+			printUsage();
+			return;
+		}
+		BoardGenerator.Layout[] layouts = BoardGenerator.Layout.values();
+		int maxSize = DEFAULT_MAX_SIZE;
+		int seconds = DEFAULT_SECONDS;
+		try {
+			if (args.length > 0 && !args[0].equals("all")) {
+				layouts = new BoardGenerator.Layout[] { BoardGenerator.Layout.valueOf(args[0]) };
+			}
+			if (args.length > 1) {
+				maxSize = Integer.parseInt(args[1]);
+			}
+			if (args.length > 2) {
+				seconds = Integer.parseInt(args[2]);
+			}
+		} catch (IllegalArgumentException e) {
+			maxSize = 0;
+		}
+		if (maxSize < SIZES[0] || seconds <= 0) {
+			printUsage();
+			return;
+		}
+
+		System.out.println(CSV_HEADER);
+		for (BoardGenerator.Layout layout : layouts) {
+			HashSet<String> stopped = new HashSet<String>();
+			for (int size : SIZES) {
+				if (size > maxSize) {
+					break;
+				}
+				for (String engine : ENGINES) {
+					if (stopped.contains(engine)) {
+						continue;
+					}
+					String result = launch(layout, size, engine, seconds);
+					if (!result.startsWith("ok")) {
+						stopped.add(engine);
+					}
+					System.out.println(layout + "," + size + "," + engine + "," + result);
+				}
+			}
+		}
+	}
+
+	/** Print instructions for running ScalingBenchmark from the command line. */
+	private static void printUsage() {
+		System.out.println("To Run The Program Please Follow The Following Input Structure:");
+		System.out.println("java ScalingBenchmark [Layout] [MaxSize] [Seconds]");
+		System.out.println("Layout -- maze, open, random, spiral or all (default all)");
+		System.out.println("MaxSize -- largest board size measured, from " + SIZES[0] + " (default "
+				+ DEFAULT_MAX_SIZE + ")");
+		System.out.println("Seconds -- time limit for each measurement (default " + DEFAULT_SECONDS + ")");
+		System.out.println("Example:");
+		System.out.println("java -Xmx4g ScalingBenchmark maze 1000 30");
+	}
+
+	/** Make one measurement in a new JVM, started with the same class path
+	 * and JVM options as this one
+	 * @param layout board layout
+	 * @param size number of rows and columns
+	 * @param engine entry of ENGINES
+	 * @param seconds time limit
+	 * @return the CSV columns from status on: ok and the measurements, or
+	 *         timeout, oom or error followed by empty columns
+	 */
+	private static String launch(BoardGenerator.Layout layout, int size, String engine, int seconds) {
+		File output = null;
+		try {
+			output = File.createTempFile("scaling", ".csv");
+			ArrayList<String> command = new ArrayList<String>();
+			command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+			command.addAll(ManagementFactory.getRuntimeMXBean().getInputArguments());
+			command.add("-cp");
+			command.add(System.getProperty("java.class.path"));
+			command.add(ScalingBenchmark.class.getName());
+			command.add(RUN);
+			command.add(layout.name());
+			command.add(Integer.toString(size));
+			command.add(engine);
+			Process process = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(output).start();
+			if (!process.waitFor(seconds, TimeUnit.SECONDS)) {
+				process.destroyForcibly().waitFor();
+				return failed("timeout");
+			}
+			List<String> lines = Files.readAllLines(output.toPath());
+			for (String line : lines) {
+				if (line.startsWith("ok,") || line.equals("oom")) {
+					return line.equals("oom") ? failed(line) : line;
+				}
+			}
+			return failed("error");
+		} catch (IOException e) {
+			return failed("error");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return failed("error");
+		} finally {
+			if (output != null) {
+				output.delete();
+			}
+		}
+	}
+
+	/** @param status reason a measurement has no results
+	 * @return status followed by an empty column for each measurement
+	 */
+	private static String failed(String status) {
+		StringBuilder columns = new StringBuilder(status);
+		int empty = CSV_HEADER.split(",").length - "layout,size,engine,status".split(",").length;
+		for (int i = 0; i < empty; i++) {
+			columns.append(',');
+		}
+		return columns.toString();
+	}
+
+	/** Make one measurement in this JVM and print it as "ok," followed by its
+	 * CSV columns, or print oom if the heap ran out
+	 * @param layout board layout
+	 * @param size number of rows and columns
+	 * @param engine entry of ENGINES
+	 */
+	private static void measure(BoardGenerator.Layout layout, int size, String engine) {
+		try {
+			CircuitBoard warmUp = board(layout, WARM_UP_SIZE);
+			newEngine(engine).search(warmUp, new BestPathCollector(1));
+
+			CircuitBoard board = board(layout, size);
+			SearchEngine search = newEngine(engine);
+			BestPathCollector collector = new BestPathCollector(1);
+			System.gc();
+			ArrayList<MemoryPoolMXBean> heap = new ArrayList<MemoryPoolMXBean>();
+			for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+				if (pool.getType() == MemoryType.HEAP && pool.isValid()) {
+					pool.resetPeakUsage();
+					heap.add(pool);
+				}
+			}
+			search.search(board, collector);
+			long peakHeap = 0;
+			for (MemoryPoolMXBean pool : heap) {
+				peakHeap += pool.getPeakUsage().getUsed();
+			}
+			int length = collector.getBestPaths().isEmpty() ? 0 : collector.bestLength();
+			System.out.println("ok," + length + "," + search.getMetrics().toCsv() + "," + peakHeap);
+		} catch (OutOfMemoryError e) {
+			System.out.println("oom");
+		}
+	}
+
+	/** @param layout board layout
+	 * @param size number of rows and columns
+	 * @return generated board with its unreachable positions pruned, as CircuitTracer searches it
+	 */
+	private static CircuitBoard board(BoardGenerator.Layout layout, int size) {
+		CircuitBoard board = BoardGenerator.generate(layout, size, size, BoardGenerator.defaultDensity(layout),
+				SEED);
+		board.pruneUnreachable();
+		return board;
+	}
+
+	/** @param engine entry of ENGINES: a CircuitTracer storage type, or a
+	 *        Storage data structure for a brute force search, optionally
+	 *        followed by -prune
+	 * @return new search engine
+	 */
+	private static SearchEngine newEngine(String engine) {
+		String[] words = engine.split(" ");
+		boolean prune = words.length > 1;
+		if (words[0].startsWith("-")) {
+			return CircuitTracer.getEngine(words[0], prune);
+		}
+		return new BruteForceSearch(new Storage<TraceState>(Storage.DataStructure.valueOf(words[0])), prune);
+	}
+} // class ScalingBenchmark
@@ -0,0 +1,42 @@
+import java.util.ArrayList;
+
+/**
+ * A strategy CircuitTracer can use to find the shortest traces connecting
+ * the '1' and '2' components of a CircuitBoard.
+ * 
+ * @author Jacob Smith
+ */
+public interface SearchEngine {
+
+	/** Search the given board, handing every solution that might be one of
+	 * the shortest traces to the collector.
+	 * @param board board to search, not modified by the search
+	 * @param collector receives solutions as they are found
+	 */
+	public void search(CircuitBoard board, SolutionCollector collector);
+
+	/** @return true if this engine finds solutions in nondecreasing length
+	 *  order, so a solution as long as the best one so far is known to be
+	 *  one of the shortest traces as soon as it is found
+	 */
+	public default boolean findsShortestFirst() {
+		return false;
+	}
+
+	/** @return counters describing the last search, null if this engine does not keep them */
+	public default SearchMetrics getMetrics() {
+		return null;
+	}
+
+	/** Find every shortest trace from the starting component to the ending
+	 * component of the given board.
+	 * @param board board to search, not modified by the search
+	 * @return all shortest traces, empty if the components cannot be connected
+	 */
+	public default ArrayList<TraceState> findBestPaths(CircuitBoard board) {
+		BestPathCollector collector = new BestPathCollector();
+		search(board, collector);
+		return collector.getBestPaths();
+	}
+
+} // interface SearchEngine
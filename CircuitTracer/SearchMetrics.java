@@ -0,0 +1,165 @@
+import java.util.Locale;
+
+/**
+ * Counters describing how much work one search did, cheap enough to keep
+ * on for every search: each update is a field increment or comparison on an
+ * object owned by the search.
+ *
+ * Searches that spread work across threads count in a SearchMetrics of
+ * each thread's own and merge() it into the search's when the thread
+ * finishes. solutionFound() can be called from any thread.
+ *
+ * @author Jacob Smith
+ */
+public class SearchMetrics {
+	/** column names matching toCsv() */
+	public static final String CSV_HEADER = "statesCreated,statesPruned,peakStorage,boardCopyBytes,firstSolutionMillis,searchMillis";
+
+	/** search states created */
+	private long statesCreated;
+	/** search states dropped because they were already longer than the best solution */
+	private long statesPruned;
+	/** largest number of states waiting in storage at once */
+	private long peakStorage;
+	/** bytes allocated copying the board for new states */
+	private long boardCopyBytes;
+	/** bytes allocated by one copy of the board being searched */
+	private long boardBytes;
+	/** System.nanoTime() when the search started */
+	private long startNanos;
+	/** nanoseconds from the start to the first solution, -1 if none has been found */
+	private volatile long firstSolutionNanos = -1;
+	/** nanoseconds from the start to the end of the search */
+	private long searchNanos;
+
+	/** Clear every counter and start timing a new search
+	 * @param board board being searched
+	 */
+	public void start(CircuitBoard board) {
+		boardBytes = board.copyBytes();
+		statesCreated = 0;
+		statesPruned = 0;
+		peakStorage = 0;
+		boardCopyBytes = 0;
+		firstSolutionNanos = -1;
+		searchNanos = 0;
+		startNanos = System.nanoTime();
+	}
+
+	/** Stop timing the search */
+	public void stop() {
+		searchNanos = System.nanoTime() - startNanos;
+	}
+
+	/** Count a new search state, and the board copy made for it if it is the first state of its path
+	 * @param state new state
+	 */
+	public void stateCreated(TraceState state) {
+		statesCreated++;
+		if (state.getPrevious() == null) {
+			boardCopied();
+		}
+	}
+
+	/** Count a new search state kept without a TraceState of its own */
+	public void stateCreated() {
+		statesCreated++;
+	}
+
+	/** Count a copy of the board made outside of stateCreated() */
+	public void boardCopied() {
+		boardCopyBytes += boardBytes;
+	}
+
+	/** Count a state dropped for being longer than the best solution */
+	public void statePruned() {
+		statesPruned++;
+	}
+
+	/** Count states dropped all at once for being longer than the best solution
+	 * @param count number of states dropped
+	 */
+	public void statesPruned(long count) {
+		statesPruned += count;
+	}
+
+	/** Record the number of states waiting in storage
+	 * @param size current storage size
+	 */
+	public void storageSize(long size) {
+		if (size > peakStorage) {
+			peakStorage = size;
+		}
+	}
+
+	/** Record that a solution was found, timing it if it is the first */
+	public void solutionFound() {
+		if (firstSolutionNanos < 0) {
+			synchronized (this) {
+				if (firstSolutionNanos < 0) {
+					firstSolutionNanos = System.nanoTime() - startNanos;
+				}
+			}
+		}
+	}
+
+	/** Add the counts from one thread of a multi-threaded search
+	 * @param thread counts kept by the thread
+	 */
+	public synchronized void merge(SearchMetrics thread) {
+		statesCreated += thread.statesCreated;
+		statesPruned += thread.statesPruned;
+		boardCopyBytes += thread.boardCopyBytes;
+		storageSize(thread.peakStorage);
+	}
+
+	/** @return search states created */
+	public long getStatesCreated() {
+		return statesCreated;
+	}
+
+	/** @return search states dropped because they were already longer than the best solution */
+	public long getStatesPruned() {
+		return statesPruned;
+	}
+
+	/** @return largest number of states waiting in storage at once */
+	public long getPeakStorage() {
+		return peakStorage;
+	}
+
+	/** @return bytes allocated copying the board for new states */
+	public long getBoardCopyBytes() {
+		return boardCopyBytes;
+	}
+
+	/** @return nanoseconds from the start to the first solution, -1 if there was none */
+	public long getFirstSolutionNanos() {
+		return firstSolutionNanos;
+	}
+
+	/** @return nanoseconds the search took */
+	public long getSearchNanos() {
+		return searchNanos;
+	}
+
+	/** @return the counters as JSON members, without the enclosing braces */
+	public String toJson() {
+		return String.format("\"statesCreated\":%d,\"statesPruned\":%d,\"peakStorage\":%d,\"boardCopyBytes\":%d,"
+				+ "\"firstSolutionMillis\":%s,\"searchMillis\":%s", statesCreated, statesPruned, peakStorage,
+				boardCopyBytes, firstSolutionNanos < 0 ? "null" : millis(firstSolutionNanos), millis(searchNanos));
+	}
+
+	/** @return the counters as comma separated values in CSV_HEADER order */
+	public String toCsv() {
+		return String.format("%d,%d,%d,%d,%s,%s", statesCreated, statesPruned, peakStorage, boardCopyBytes,
+				firstSolutionNanos < 0 ? "" : millis(firstSolutionNanos), millis(searchNanos));
+	}
+
+	/** @param nanos nanoseconds
+	 * @return nanos in milliseconds to three decimal places
+	 */
+	private static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+	}
+} // class SearchMetrics
@@ -0,0 +1,192 @@
+import java.awt.Point;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Brute force search run by several threads that all store to and retrieve
+ * from one shared, thread-safe Storage, such as a lock-free Treiber stack or
+ * Michael-Scott queue.
+ *
+ * A shared count of states that have been stored but not yet fully explored
+ * tells the threads when the search is over: a state's children are counted
+ * before the state itself is counted off, so the count only reaches zero once
+ * every state has been explored. Threads prune against one shared, atomically
+ * updated best length, and the solutions they find are filtered down to the
+ * shortest traces when the search completes. Traces are reported in the order
+ * threads happened to find them.
+ *
+ * A thread that finds the storage empty while other threads may still add
+ * to it spins briefly, then parks for a doubling time of at most
+ * MAX_PARK_NANOS rather than keeping a processor busy. If the searching
+ * thread is interrupted, the workers are stopped and joined before search()
+ * returns without any solutions.
+ *
+ * @author Jacob Smith
+ */
+public class SharedStorageSearch implements SearchEngine {
+	/** storage shared by every thread */
+	private final Storage<TraceState> stateStore;
+	/** number of threads searching */
+	private final int threads;
+	/** counters for the last search, peak storage including states being explored */
+	private final SearchMetrics metrics = new SearchMetrics();
+	/** empty polls an idle thread spins through before it starts parking */
+	private static final int IDLE_SPINS = 100;
+	/** longest an idle thread parks between polls */
+	private static final long MAX_PARK_NANOS = 1000000;
+
+	/** Constructor
+	 * @param stateStore empty, thread-safe storage deciding the order states are explored in
+	 * @param threads number of threads to search with
+	 * @throws IllegalArgumentException if stateStore is not thread-safe
+	 */
+	public SharedStorageSearch(Storage<TraceState> stateStore, int threads) {
+		if (!stateStore.isThreadSafe()) {
+			throw new IllegalArgumentException("storage shared between threads must be thread-safe");
+		}
+		this.stateStore = stateStore;
+		this.threads = threads;
+	}
+
+	@Override
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void search(CircuitBoard board, SolutionCollector collector) {
+		metrics.start(board);
+		AtomicInteger bestLength = new AtomicInteger(Integer.MAX_VALUE);
+		AtomicInteger pending = new AtomicInteger();
+		ConcurrentLinkedQueue<TraceState> solutions = new ConcurrentLinkedQueue<>();
+
+		Point start = board.getStartingPoint();
+		int r = start.x;
+		int c = start.y;
+
+		if (board.isOpen(r - 1, c)) store(new TraceState(board, r - 1, c), pending, metrics);
+		if (board.isOpen(r + 1, c)) store(new TraceState(board, r + 1, c), pending, metrics);
+		if (board.isOpen(r, c - 1)) store(new TraceState(board, r, c - 1), pending, metrics);
+		if (board.isOpen(r, c + 1)) store(new TraceState(board, r, c + 1), pending, metrics);
+
+		AtomicBoolean stopped = new AtomicBoolean();
+		Thread[] workers = new Thread[threads];
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = new Thread(() -> explore(bestLength, pending, solutions, stopped));
+			workers[i].start();
+		}
+		try {
+			for (Thread worker : workers) {
+				worker.join();
+			}
+		} catch (InterruptedException e) {
+			stopped.set(true);
+			for (Thread worker : workers) {
+				worker.interrupt();
+			}
+			joinAll(workers);
+			metrics.stop();
+			Thread.currentThread().interrupt();
+			return;
+		}
+
+		for (TraceState solution : solutions) {
+			if (solution.pathLength() == bestLength.get()) {
+				collector.add(solution);
+			}
+		}
+		metrics.stop();
+	}
+
+	/** Wait for every worker to finish, even if interrupted again while waiting
+	 * @param workers threads already told to stop
+	 */
+	private static void joinAll(Thread[] workers) {
+		for (Thread worker : workers) {
+			while (worker.isAlive()) {
+				try {
+					worker.join();
+				} catch (InterruptedException e) {
+					// the caller restores the interrupt once every worker is done
+				}
+			}
+		}
+	}
+
+	/** Explore states from the shared storage until none are left anywhere,
+	 * or the search is stopped
+	 * @param bestLength shared best solution length
+	 * @param pending shared count of states stored but not yet explored
+	 * @param solutions shared solution collector
+	 * @param stopped set when the search is abandoned
+	 */
+	private void explore(AtomicInteger bestLength, AtomicInteger pending, ConcurrentLinkedQueue<TraceState> solutions,
+			AtomicBoolean stopped) {
+		SearchMetrics counts = new SearchMetrics();
+		int idle = 0;
+		long parkNanos = 1;
+		while (pending.get() > 0 && !stopped.get()) {
+			TraceState current = stateStore.poll();
+			if (current == null) {
+				// other threads are still exploring states that may add more
+				if (idle++ < IDLE_SPINS) {
+					Thread.onSpinWait();
+				} else {
+					LockSupport.parkNanos(parkNanos);
+					parkNanos = Math.min(parkNanos * 2, MAX_PARK_NANOS);
+				}
+				continue;
+			}
+			idle = 0;
+			parkNanos = 1;
+			try {
+				if (current.pathLength() > bestLength.get()) {
+					counts.statePruned();
+					continue;
+				}
+
+				if (current.isSolution()) {
+					metrics.solutionFound();
+					int len = current.pathLength();
+					if (bestLength.accumulateAndGet(len, Math::min) == len) {
+						solutions.add(current);
+					}
+				}
+				else {
+					int cr = current.getRow();
+					int cc = current.getCol();
+
+					if (current.isOpen(cr - 1, cc)) {
+						store(new TraceState(current, cr - 1, cc), pending, counts);
+					}
+					if (current.isOpen(cr + 1, cc)) {
+						store(new TraceState(current, cr + 1, cc), pending, counts);
+					}
+					if (current.isOpen(cr, cc - 1)) {
+						store(new TraceState(current, cr, cc - 1), pending, counts);
+					}
+					if (current.isOpen(cr, cc + 1)) {
+						store(new TraceState(current, cr, cc + 1), pending, counts);
+					}
+				}
+			} finally {
+				pending.decrementAndGet();
+			}
+		}
+		metrics.merge(counts);
+	}
+
+	/** Count a new state as pending and store it
+	 * @param state state to explore
+	 * @param pending shared count of states stored but not yet explored
+	 * @param counts counters of the calling thread
+	 */
+	private void store(TraceState state, AtomicInteger pending, SearchMetrics counts) {
+		// pending also counts states being explored, but unlike the storage size it is free to read
+		counts.storageSize(pending.incrementAndGet());
+		counts.stateCreated(state);
+		stateStore.store(state);
+	}
+} // class SharedStorageSearch
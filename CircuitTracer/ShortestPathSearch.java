@@ -0,0 +1,233 @@
+import java.awt.Point;
+import java.math.BigInteger;
+
+/**
+ * Finds all shortest traces with a single breadth-first pass over the board
+ * instead of storing every partial trace as its own search state.
+ *
+ * The pass labels each open position with its distance (trace length) from
+ * the starting component, stopping at the first layer that touches the
+ * ending component. Positions that lie on some shortest trace are then
+ * marked by walking the labels back from the ending component, and the
+ * traces themselves are rebuilt by following those marks forward from the
+ * start. Traces are produced in the same order the queue-based brute force
+ * search finds them.
+ *
+ * The same pass can count the shortest traces without building any of them:
+ * the number of shortest paths to a position is the sum of the numbers of
+ * shortest paths to its neighbors one layer closer to the start.
+ *
+ * @author Jacob Smith
+ */
+public class ShortestPathSearch implements SearchEngine {
+	/** row and column offsets of the four neighbors, in the order they are explored: up, down, left, right */
+	private static final int[] DROW = {-1, 1, 0, 0};
+	private static final int[] DCOL = {0, 0, -1, 1};
+	/** counters for the last search */
+	private final SearchMetrics metrics = new SearchMetrics();
+
+	@Override
+	public boolean findsShortestFirst() {
+		return true;
+	}
+
+	@Override
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void search(CircuitBoard board, SolutionCollector collector) {
+		metrics.start(board);
+		int[] dist = new int[board.numRows() * board.numCols()];
+		int bestLength = labelDistances(board, dist);
+		if (bestLength == 0) {
+			metrics.stop();
+			return;
+		}
+		rebuildTraces(board, dist, bestLength, collector, metrics);
+		metrics.stop();
+	}
+
+	/** Rebuild every shortest trace from distance labels, handing each to the collector
+	 * in the order the queue-based brute force search finds them.
+	 * @param board board that was searched
+	 * @param dist row-major distance labels, exact for every position on a shortest trace
+	 * @param bestLength length of the shortest trace
+	 * @param collector receives the traces
+	 * @param metrics counters for the states built
+	 */
+	static void rebuildTraces(CircuitBoard board, int[] dist, int bestLength, SolutionCollector collector,
+			SearchMetrics metrics) {
+		boolean[] onShortest = markShortest(board, dist, bestLength);
+
+		// rebuild traces depth-first, pushing neighbors in reverse so they come back out up, down, left, right
+		Storage<TraceState> stateStore = Storage.getStackInstance();
+		Point start = board.getStartingPoint();
+		for (int dir = DROW.length - 1; dir >= 0; dir--) {
+			int r = start.x + DROW[dir];
+			int c = start.y + DCOL[dir];
+			if (board.isOpen(r, c) && onShortest[r * board.numCols() + c]) {
+				store(stateStore, new TraceState(board, r, c), metrics);
+			}
+		}
+		while (!stateStore.isEmpty()) {
+			TraceState current = stateStore.retrieve();
+			if (current.pathLength() == bestLength) {
+				metrics.solutionFound();
+				collector.add(current);
+				if (collector.isFull()) {
+					break;
+				}
+				continue;
+			}
+			for (int dir = DROW.length - 1; dir >= 0; dir--) {
+				int r = current.getRow() + DROW[dir];
+				int c = current.getCol() + DCOL[dir];
+				if (board.isOpen(r, c)) {
+					int index = r * board.numCols() + c;
+					if (onShortest[index] && dist[index] == current.pathLength() + 1) {
+						store(stateStore, new TraceState(current, r, c), metrics);
+					}
+				}
+			}
+		}
+	}
+
+	/** Store a new state, counting it
+	 * @param stateStore storage for states waiting to be explored
+	 * @param state state to explore
+	 * @param metrics counters for the search
+	 */
+	private static void store(Storage<TraceState> stateStore, TraceState state, SearchMetrics metrics) {
+		stateStore.store(state);
+		metrics.stateCreated(state);
+		metrics.storageSize(stateStore.size());
+	}
+
+	/** Count the shortest traces on a board without enumerating them
+	 * @param board board to search
+	 * @return number of shortest traces, 0 if the components cannot be connected
+	 */
+	public static BigInteger countShortestPaths(CircuitBoard board) {
+		int cols = board.numCols();
+		int[] dist = new int[board.numRows() * cols];
+		BigInteger[] ways = new BigInteger[dist.length];
+		int bestLength = labelDistances(board, dist, ways);
+		BigInteger count = BigInteger.ZERO;
+		if (bestLength == 0) {
+			return count;
+		}
+		Point end = board.getEndingPoint();
+		for (int dir = 0; dir < DROW.length; dir++) {
+			int r = end.x + DROW[dir];
+			int c = end.y + DCOL[dir];
+			if (board.isOpen(r, c) && dist[r * cols + c] == bestLength) {
+				count = count.add(ways[r * cols + c]);
+			}
+		}
+		return count;
+	}
+
+	/** Label open positions with their distance from the starting component,
+	 * one breadth-first layer at a time, until a layer reaches the ending component.
+	 * @param board board to search
+	 * @param dist row-major distance labels to fill in, 0 for positions not reached
+	 * @return length of the shortest trace, or 0 if there is none
+	 */
+	static int labelDistances(CircuitBoard board, int[] dist) {
+		return labelDistances(board, dist, null);
+	}
+
+	/** Label open positions with their distance from the starting component,
+	 * one breadth-first layer at a time, until a layer reaches the ending component,
+	 * also counting the shortest paths to each labeled position.
+	 * @param board board to search
+	 * @param dist row-major distance labels to fill in, 0 for positions not reached
+	 * @param ways row-major shortest path counts to fill in, complete for positions
+	 *        up to the returned distance; null to skip counting
+	 * @return length of the shortest trace, or 0 if there is none
+	 */
+	private static int labelDistances(CircuitBoard board, int[] dist, BigInteger[] ways) {
+		int cols = board.numCols();
+		int[] queue = new int[dist.length];
+		int head = 0;
+		int tail = 0;
+		Point start = board.getStartingPoint();
+		for (int dir = 0; dir < DROW.length; dir++) {
+			int r = start.x + DROW[dir];
+			int c = start.y + DCOL[dir];
+			if (board.isOpen(r, c)) {
+				dist[r * cols + c] = 1;
+				queue[tail++] = r * cols + c;
+				if (ways != null) {
+					ways[r * cols + c] = BigInteger.ONE;
+				}
+			}
+		}
+		Point end = board.getEndingPoint();
+		while (head < tail) {
+			int index = queue[head++];
+			int row = index / cols;
+			int col = index % cols;
+			if (Math.abs(row - end.x) + Math.abs(col - end.y) == 1) {
+				// every position at this distance has already been labeled by the previous layer
+				return dist[index];
+			}
+			for (int dir = 0; dir < DROW.length; dir++) {
+				int r = row + DROW[dir];
+				int c = col + DCOL[dir];
+				if (board.isOpen(r, c) && dist[r * cols + c] == 0) {
+					dist[r * cols + c] = dist[index] + 1;
+					queue[tail++] = r * cols + c;
+					if (ways != null) {
+						ways[r * cols + c] = ways[index];
+					}
+				} else if (ways != null && board.isOpen(r, c) && dist[r * cols + c] == dist[index] + 1) {
+					ways[r * cols + c] = ways[r * cols + c].add(ways[index]);
+				}
+			}
+		}
+		return 0;
+	}
+
+	/** Mark every position that lies on at least one shortest trace by walking
+	 * distance labels back from the positions next to the ending component.
+	 * @param board board that was searched
+	 * @param dist distance labels from labelDistances()
+	 * @param bestLength length of the shortest trace
+	 * @return row-major marks, true for positions on a shortest trace
+	 */
+	static boolean[] markShortest(CircuitBoard board, int[] dist, int bestLength) {
+		int cols = board.numCols();
+		boolean[] onShortest = new boolean[dist.length];
+		int[] stack = new int[dist.length];
+		int top = 0;
+		Point end = board.getEndingPoint();
+		for (int dir = 0; dir < DROW.length; dir++) {
+			int r = end.x + DROW[dir];
+			int c = end.y + DCOL[dir];
+			if (board.isOpen(r, c) && dist[r * cols + c] == bestLength) {
+				onShortest[r * cols + c] = true;
+				stack[top++] = r * cols + c;
+			}
+		}
+		while (top > 0) {
+			int index = stack[--top];
+			int row = index / cols;
+			int col = index % cols;
+			for (int dir = 0; dir < DROW.length; dir++) {
+				int r = row + DROW[dir];
+				int c = col + DCOL[dir];
+				if (board.isOpen(r, c)) {
+					int neighbor = r * cols + c;
+					if (!onShortest[neighbor] && dist[neighbor] == dist[index] - 1 && dist[neighbor] > 0) {
+						onShortest[neighbor] = true;
+						stack[top++] = neighbor;
+					}
+				}
+			}
+		}
+		return onShortest;
+	}
+} // class ShortestPathSearch
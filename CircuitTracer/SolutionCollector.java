@@ -0,0 +1,25 @@
+/**
+ * Receives the solutions a SearchEngine finds, keeping only the shortest.
+ *
+ * @author Jacob Smith
+ */
+public interface SolutionCollector {
+
+	/** Offer a solution found by the search. A solution shorter than any
+	 * before it replaces them, one longer than the best so far is ignored.
+	 * @param solution state whose path ends next to the ending component
+	 */
+	public void add(TraceState solution);
+
+	/** @return length of the shortest solution added so far, Integer.MAX_VALUE if none */
+	public int bestLength();
+
+	/** @return true once no more solutions as long as bestLength() are wanted,
+	 *  so a search only needs to look for shorter ones - or can stop, if it
+	 *  finds the shortest traces first
+	 */
+	public default boolean isFull() {
+		return false;
+	}
+
+} // interface SolutionCollector
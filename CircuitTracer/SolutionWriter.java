@@ -0,0 +1,138 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * SolutionCollector that prints the shortest traces to a Writer in the same
+ * format as TraceState.toString(), one board per trace followed by a blank
+ * line.
+ *
+ * For engines that find shortest traces first, each solution is written as
+ * soon as it is found and nothing is kept. For other engines the solutions
+ * are only TraceStates - a position and a link to the state before - until
+ * finish() writes the ones that turned out to be shortest. Either way a
+ * board is never copied per solution: traces are drawn into one reusable
+ * character rendering of the board and erased again after writing.
+ *
+ * A limit on the number of solutions keeps only the first ones found of the
+ * shortest length.
+ *
+ * @author Jacob Smith
+ */
+public class SolutionWriter implements SolutionCollector {
+	/** destination for rendered solutions */
+	private final Writer out;
+	/** true if solutions arrive in nondecreasing length order and can be written right away */
+	private final boolean shortestFirst;
+	/** the board as printed by CircuitBoard.toString(), reused for every solution */
+	private final char[] rendering;
+	/** characters per row of rendering, including the newline */
+	private final int lineLength;
+	/** solutions held until finish(), null when writing right away */
+	private final BestPathCollector pending;
+	/** length of the shortest solution added so far */
+	private int bestLength = Integer.MAX_VALUE;
+	/** most solutions to write */
+	private final int limit;
+	/** number of solutions written */
+	private int written;
+
+	/** Constructor writing every shortest solution
+	 * @param board board being searched
+	 * @param out destination for rendered solutions
+	 * @param shortestFirst true if the engine finds solutions in nondecreasing length order
+	 */
+	public SolutionWriter(CircuitBoard board, Writer out, boolean shortestFirst) {
+		this(board, out, shortestFirst, Integer.MAX_VALUE);
+	}
+
+	/** Constructor
+	 * @param board board being searched
+	 * @param out destination for rendered solutions
+	 * @param shortestFirst true if the engine finds solutions in nondecreasing length order
+	 * @param limit most solutions to write
+	 */
+	public SolutionWriter(CircuitBoard board, Writer out, boolean shortestFirst, int limit) {
+		this.out = out;
+		this.shortestFirst = shortestFirst;
+		this.limit = limit;
+		pending = shortestFirst ? null : new BestPathCollector(limit);
+		lineLength = board.numCols() * 2 + 1;
+		rendering = new char[board.numRows() * lineLength];
+		for (int row = 0; row < board.numRows(); row++) {
+			for (int col = 0; col < board.numCols(); col++) {
+				rendering[row * lineLength + col * 2] = board.charAt(row, col);
+				rendering[row * lineLength + col * 2 + 1] = ' ';
+			}
+			rendering[row * lineLength + lineLength - 1] = '\n';
+		}
+	}
+
+	/** {@inheritDoc}
+	 * @throws UncheckedIOException if a solution written right away cannot be written
+	 */
+	@Override
+	public void add(TraceState solution) {
+		int len = solution.pathLength();
+		if (len > bestLength) {
+			return;
+		}
+		bestLength = len;
+		if (shortestFirst) {
+			if (written >= limit) {
+				return;
+			}
+			try {
+				write(solution);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		} else {
+			pending.add(solution);
+		}
+	}
+
+	@Override
+	public int bestLength() {
+		return bestLength;
+	}
+
+	@Override
+	public boolean isFull() {
+		return shortestFirst ? written >= limit : pending.isFull();
+	}
+
+	/** @return number of solutions written so far */
+	public int getSolutionCount() {
+		return written;
+	}
+
+	/** Write any solutions still held and flush the Writer
+	 * @throws IOException if the solutions cannot be written
+	 */
+	public void finish() throws IOException {
+		if (pending != null) {
+			for (TraceState solution : pending.getBestPaths()) {
+				write(solution);
+			}
+			pending.getBestPaths().clear();
+		}
+		out.flush();
+	}
+
+	/** Draw a trace into the rendering, write it and erase it again
+	 * @param solution trace to write
+	 * @throws IOException if the trace cannot be written
+	 */
+	private void write(TraceState solution) throws IOException {
+		for (TraceState state = solution; state != null; state = state.getPrevious()) {
+			rendering[state.getRow() * lineLength + state.getCol() * 2] = 'T';
+		}
+		out.write(rendering);
+		out.write(System.lineSeparator());
+		for (TraceState state = solution; state != null; state = state.getPrevious()) {
+			rendering[state.getRow() * lineLength + state.getCol() * 2] = 'O';
+		}
+		written++;
+	}
+} // class SolutionWriter
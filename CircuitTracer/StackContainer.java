@@ -0,0 +1,32 @@
+import java.util.Stack;
+
+/**
+ * StateContainer over a java.util.Stack, retrieving the most recently
+ * stored element first.
+ *
+ * @author Jacob Smith
+ */
+public class StackContainer<T> implements StateContainer<T> {
+	/** elements */
+	private final Stack<T> stack = new Stack<T>();
+
+	@Override
+	public void store(T element) {
+		stack.push(element);
+	}
+
+	@Override
+	public T retrieve() {
+		return stack.pop();
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return stack.isEmpty();
+	}
+
+	@Override
+	public int size() {
+		return stack.size();
+	}
+} // class StackContainer
@@ -0,0 +1,47 @@
+/**
+ * A collection of search states that decides the order they come back out
+ * in. Storage is a facade over one StateContainer, chosen by name from the
+ * containers registered with Storage.register().
+ *
+ * @author Jacob Smith
+ */
+public interface StateContainer<T> {
+
+	/** Add element to the container
+	 * @param element T to store
+	 */
+	public void store(T element);
+
+	/** Remove and return the next T from the container
+	 * @return next T from the container
+	 * @throws java.util.NoSuchElementException if the container is empty
+	 */
+	public T retrieve();
+
+	/** Remove and return the next T from the container, if there is one.
+	 * Containers shared between threads should be read this way, since checking
+	 * isEmpty() first can race with other threads' retrieves.
+	 * @return next T from the container, null if the container is empty
+	 */
+	public default T poll() {
+		return isEmpty() ? null : retrieve();
+	}
+
+	/** @return true if the container is empty, else false */
+	public boolean isEmpty();
+
+	/** @return number of elements in the container, in constant time, since
+	 *  searches record it after every store */
+	public int size();
+
+	/** @return true if elements are retrieved in the order they were stored */
+	public default boolean isFirstInFirstOut() {
+		return false;
+	}
+
+	/** @return true if any number of threads can use the container at once */
+	public default boolean isThreadSafe() {
+		return false;
+	}
+
+} // interface StateContainer
@@ -1,12 +1,19 @@
+import java.util.Comparator;
 import java.util.LinkedList;
-import java.util.Queue;
-import java.util.Stack;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
 
 /** A container for storing elements of type T in one of several
  *  possible underlying data structures.
- *  Additional data structures (or variations on data structures)
- *  can be added by adding to the DataStructure enum values and
- *  adding corresponding cases to wrapper methods.
+ *  Each Storage wraps one StateContainer, created by name from a registry
+ *  of container factories. Additional data structures (or variations on
+ *  data structures) can be added by registering a new StateContainer
+ *  under a new name, without changing any Storage method.
  *  This is an example of a design pattern known as a Bridge,
  *  that allows users to interact with potentially many different
  *  classes through a common interface.
@@ -15,28 +22,90 @@ import java.util.Stack;
  */
 public class Storage<T> 
 {
-	/** supported underlying data structures for Storage to use */
-	public static enum DataStructure {stack, queue}
-	/** the data structure chosen for this Storage to use */
-	private DataStructure dataStructure;
-	/** the data structures - only one will be instantiated and used  */
-	private Queue<T> queue;
-	private Stack<T> stack;
+	/** data structures registered by default, by the name they are registered under */
+	public static enum DataStructure {stack, queue, priority, arrayStack, ringBuffer, deque, concurrent, treiber}
+	/** factories for every registered container, by name */
+	private static final Map<String, Supplier<StateContainer<?>>> CONTAINERS = new ConcurrentHashMap<>();
+	
+	static 
+	{
+		register(DataStructure.stack.name(), StackContainer::new);
+		register(DataStructure.queue.name(), () -> new QueueContainer<>(new LinkedList<>(), true));
+		register(DataStructure.priority.name(), () -> new QueueContainer<>(new PriorityQueue<>(), false));
+		register(DataStructure.arrayStack.name(), ArrayStack::new);
+		register(DataStructure.ringBuffer.name(), () -> new QueueContainer<>(new RingBufferQueue<>(), true));
+		register(DataStructure.deque.name(), DequeContainer::new);
+		register(DataStructure.concurrent.name(), () -> new QueueContainer<>(new ConcurrentLinkedQueue<>(), true, true));
+		register(DataStructure.treiber.name(), TreiberStack::new);
+	}
+	
+	/** the container holding this Storage's elements */
+	private final StateContainer<T> container;
 	
 	/** Constructor
-	 * @param dataStructure choice of DataStructures 
+	 * @param container empty container to hold the elements
 	 */
-	public Storage(DataStructure dataStructure) 
+	public Storage(StateContainer<T> container) 
 	{
-		this.dataStructure = dataStructure;
-		switch (this.dataStructure) 
+		this.container = container;
+	}
+	
+	/** Constructor
+	 * @param name name a container was registered under
+	 * @throws IllegalArgumentException if no container is registered under name
+	 */
+	@SuppressWarnings("unchecked")
+	public Storage(String name) 
+	{
+		Supplier<StateContainer<?>> factory = CONTAINERS.get(name);
+		if (factory == null) 
 		{
-			case stack:
-				stack = new Stack<T>();
-				break;
-			case queue:
-				queue = new LinkedList<T>();
+			throw new IllegalArgumentException("no container registered as " + name);
 		}
+		container = (StateContainer<T>) factory.get();
+	}
+	
+	/** Constructor
+	 * @param dataStructure choice of DataStructures 
+	 */
+	public Storage(DataStructure dataStructure) 
+	{
+		this(dataStructure.name());
+	}
+
+	/** Constructor
+	 * @param dataStructure choice of DataStructures 
+	 * @param order ordering used by a priority Storage, null for natural ordering;
+	 *        ignored by other DataStructures
+	 */
+	public Storage(DataStructure dataStructure, Comparator<? super T> order) 
+	{
+		this(dataStructure == DataStructure.priority
+				? new QueueContainer<T>(new PriorityQueue<T>(order), false)
+				: Storage.<T>create(dataStructure.name()));
+	}
+	
+	/** Register a container factory under a name, replacing any factory already registered under it
+	 * @param name name to create the container by
+	 * @param factory creates a new, empty container for each Storage
+	 */
+	public static void register(String name, Supplier<StateContainer<?>> factory) 
+	{
+		CONTAINERS.put(name, factory);
+	}
+	
+	/** @return names of every registered container, in alphabetical order */
+	public static Set<String> containerNames() 
+	{
+		return new TreeSet<String>(CONTAINERS.keySet());
+	}
+
+	/** @param name name a container was registered under
+	 * @return new container from the factory registered under name
+	 */
+	private static <E> StateContainer<E> create(String name) 
+	{
+		return new Storage<E>(name).container;
 	}
 
 	/** Alternative to using the constructor returns
@@ -57,19 +126,52 @@ public class Storage<T>
 		return new Storage<E>(DataStructure.queue);
 	}
 	
+	/** Alternative to using the constructor returns
+ 	 * a Storage already configured to use an ArrayStack
+ 	 * @return instance of Storage configured to use an ArrayStack
+ 	 */
+	public static <E> Storage<E> getArrayStackInstance() 
+	{
+		return new Storage<E>(DataStructure.arrayStack);
+	}
+	
+	/** Alternative to using the constructor returns
+ 	 * a Storage already configured to use a RingBufferQueue
+ 	 * @return instance of Storage configured to use a RingBufferQueue
+ 	 */
+	public static <E> Storage<E> getRingBufferInstance() 
+	{
+		return new Storage<E>(DataStructure.ringBuffer);
+	}
+	
+	/** Alternative to using the constructor returns
+ 	 * a Storage already configured to use a PriorityQueue
+ 	 * @param order ordering of elements, smallest is retrieved first
+ 	 * @return instance of Storage configured to use a PriorityQueue
+ 	 */
+	public static <E> Storage<E> getPriorityInstance(Comparator<? super E> order) 
+	{
+		return new Storage<E>(DataStructure.priority, order);
+	}
+	
+	/** @return true if elements are retrieved in the order they were stored */
+	public boolean isFirstInFirstOut() 
+	{
+		return container.isFirstInFirstOut();
+	}
+	
+	/** @return true if any number of threads can use this Storage at once */
+	public boolean isThreadSafe() 
+	{
+		return container.isThreadSafe();
+	}
+	
 	/** Add element to underlying data structure
 	 * @param element T to store
 	 */
 	public void store(T element) 
 	{
-		switch (dataStructure) 
-		{
-			case stack:
-				stack.push(element);
-				break;
-			case queue:
-				queue.add(element);
-		}
+		container.store(element);
 	}
 	
 	/** Remove and return the next T from storage
@@ -77,46 +179,27 @@ public class Storage<T>
 	 */
 	public T retrieve() 
 	{
-		T next = null;
-		switch (dataStructure) 
-		{
-			case stack:
-				next = stack.pop();
-				break;
-			case queue:
-				next = queue.remove();
-		}
-		
-		return next;
+		return container.retrieve();
+	}
+	
+	/** Remove and return the next T from storage, if there is one -
+	 * the way to retrieve from Storage shared between threads
+	 * @return next T from storage, null if storage is empty
+	 */
+	public T poll() 
+	{
+		return container.poll();
 	}
 	
 	/** @return true if store is empty, else false */
 	public boolean isEmpty() 
 	{
-		boolean result = true;
-		switch (dataStructure) 
-		{
-			case stack:
-				result = stack.isEmpty();
-				break;
-			case queue:
-				result = queue.isEmpty();
-		}
-		return result;
+		return container.isEmpty();
 	}
 	
 	/** @return size of store */
 	public int size() 
 	{
-		int size = 0;
-		switch (dataStructure) 
-		{
-			case stack:
-				size = stack.size();
-				break;
-			case queue:
-				size = queue.size();
-		} 
-		return size;
+		return container.size();
 	}
 } // class Storage
@@ -0,0 +1,115 @@
+import java.io.FileNotFoundException;
+
+/**
+ * Compare the time taken by each Storage data structure that can back a
+ * brute force search - the java.util Stack, ArrayDeque, LinkedList and
+ * ConcurrentLinkedQueue against the array-backed ArrayStack and
+ * RingBufferQueue.
+ *
+ * Every data structure first runs a fixed pattern of stores and retrieves,
+ * then, if a board file is given, a full brute force search of that board.
+ * Each measurement is repeated and the fastest round reported, after one
+ * untimed warm-up round so the JIT compiler has already run.
+ *
+ * @author Jacob Smith
+ */
+public class StorageBenchmark {
+	/** data structures compared, each stack followed by the queues */
+	private static final Storage.DataStructure[] STRUCTURES = { Storage.DataStructure.stack,
+			Storage.DataStructure.arrayStack, Storage.DataStructure.deque, Storage.DataStructure.queue,
+			Storage.DataStructure.ringBuffer, Storage.DataStructure.concurrent };
+	/** number of elements stored per round of the store and retrieve pattern */
+	private static final int ELEMENTS = 1 << 20;
+	/** default number of timed rounds */
+	private static final int DEFAULT_ROUNDS = 5;
+
+	/** Launch the benchmark.
+	 *
+	 * @param args two optional arguments:
+	 *  first arg: board file to search with each data structure
+	 *  second arg: number of timed rounds, defaults to 5
+	 */
+	public static void main(String[] args) {
+		int rounds = DEFAULT_ROUNDS;
+		if (args.length > 2) {
+			printUsage();
+			return;
+		}
+		if (args.length == 2) {
+			try {
+				rounds = Integer.parseInt(args[1]);
+			} catch (NumberFormatException e) {
+				rounds = 0;
+			}
+			if (rounds <= 0) {
+				printUsage();
+				return;
+			}
+		}
+		CircuitBoard board = null;
+		if (args.length > 0) {
+			try {
+				board = new CircuitBoard(args[0]);
+			} catch (InvalidFileFormatException e) {
+				System.out.println("InvalidFileFormatException");
+				return;
+			} catch (FileNotFoundException e) {
+				System.out.println("FileNotFoundException");
+				return;
+			}
+		}
+
+		Integer[] elements = new Integer[ELEMENTS];
+		for (int i = 0; i < ELEMENTS; i++) {
+			elements[i] = i;
+		}
+		System.out.printf("%-12s %14s %14s\n", "Storage", "store/retrieve", board == null ? "" : "search");
+		for (Storage.DataStructure structure : STRUCTURES) {
+			long storeTime = Long.MAX_VALUE;
+			long searchTime = Long.MAX_VALUE;
+			for (int round = 0; round <= rounds; round++) {
+				long start = System.nanoTime();
+				storeAndRetrieve(new Storage<Integer>(structure), elements);
+				long time = System.nanoTime() - start;
+				if (round > 0) {
+					storeTime = Math.min(storeTime, time);
+				}
+				if (board != null) {
+					start = System.nanoTime();
+					new BruteForceSearch(new Storage<TraceState>(structure)).findBestPaths(board);
+					time = System.nanoTime() - start;
+					if (round > 0) {
+						searchTime = Math.min(searchTime, time);
+					}
+				}
+			}
+			System.out.printf("%-12s %11.2f ms %s\n", structure, storeTime / 1e6,
+					board == null ? "" : String.format("%11.2f ms", searchTime / 1e6));
+		}
+	}
+
+	/** Print instructions for running StorageBenchmark from the command line. */
+	private static void printUsage() {
+		System.out.println("To Run The Program Please Follow The Following Input Structure:");
+		System.out.println("java StorageBenchmark [InputFileName] [Rounds]");
+		System.out.println("Example:");
+		System.out.println("java StorageBenchmark boards/valid8.dat 10");
+	}
+
+	/** Store every element, retrieving one after every second store the way a
+	 * search retrieves one state and stores its neighbors, then retrieve the rest.
+	 * @param storage empty storage to exercise
+	 * @param elements elements to store
+	 */
+	private static void storeAndRetrieve(Storage<Integer> storage, Integer[] elements) {
+		for (int i = 0; i < elements.length; i++) {
+			storage.store(elements[i]);
+			if ((i & 1) == 1) {
+				storage.retrieve();
+			}
+		}
+		while (!storage.isEmpty()) {
+			storage.retrieve();
+		}
+	}
+} // class StorageBenchmark
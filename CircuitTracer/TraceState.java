@@ -1,96 +1,314 @@
 import java.awt.Point;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 /**
  * Represents a potential path through a CircuitBoard - a search state for CircuitTracer.
- * 
+ *
+ * States are persistent: a new state only records its own position and a
+ * reference to the state it extends, so creating a child state is O(1) and
+ * all states grown from the same root share the same starting board and path
+ * prefix. The full board with its 'T's and the full path are only built when
+ * asked for by getBoard(), getPath() or toString().
+ *
+ * Every CHECKPOINT points along a path, a state records the whole path so
+ * far in a PathSet, a persistent set of positions that shares all but the
+ * changed parts of its tree with the previous checkpoint's set. isOpen()
+ * checks that set and walks back over the fewer than CHECKPOINT newer
+ * points, so it costs the same on a path of any length.
+ *
  * @author mvail
  */
-public class TraceState {
-	private CircuitBoard board;		//state of the current board
-	private ArrayList<Point> path;	//history of traces added
-	
+public class TraceState implements Comparable<TraceState> {
+	private final CircuitBoard board;	//starting board, shared by every state grown from the same root
+	private final TraceState previous;	//state this one extends, null for the initial state
+	private final int row;				//row of the last point in the path
+	private final int col;				//column of the last point in the path
+	private final int length;			//number of points in the path
+	private final PathSet marked;		//every position of the path up to the last checkpoint
+	private final long recent;			//one bit per hashed position after the last checkpoint, a filter for the walk
+
+	/** number of points between states that add their newer points to the PathSet */
+	private static final int CHECKPOINT = 32;
+
 	/** Initial state with the trace path beginning at given row and column
-	 * @param startingBoard 
+	 * @param startingBoard
 	 * @param row initial path row
 	 * @param col initial path column
 	 */
 	public TraceState(CircuitBoard startingBoard, int row, int col) {
+		if (!startingBoard.isOpen(row, col)) {
+			throw new OccupiedPositionException("row " + row + ", col " + col + " contains '" + startingBoard.charAt(row, col) + "'");
+		}
 		board = new CircuitBoard(startingBoard);
-		path = new ArrayList<Point>();
-		board.makeTrace(row, col); //will throw exception if row, col is occupied
-		path.add(new Point(row, col));
+		previous = null;
+		this.row = row;
+		this.col = col;
+		length = 1;
+		marked = new PathSet(board.numRows() * board.numCols());
+		recent = bit(row, col);
 	}
-	
+
 	/** New state adding given row and column position to the path from previous state
 	 * @param previousState
 	 * @param row row of next point to add to the path
 	 * @param col column of next point to add to the path
 	 */
 	public TraceState(TraceState previousState, int row, int col) {
-		board = new CircuitBoard(previousState.board);
-		path = new ArrayList<Point>(previousState.path);
-		board.makeTrace(row, col); //will throw exception if row, col is occupied
-		path.add(new Point(row, col));
+		if (!previousState.isOpen(row, col)) {
+			throw new OccupiedPositionException("row " + row + ", col " + col + " contains '" + previousState.charAt(row, col) + "'");
+		}
+		board = previousState.board;
+		previous = previousState;
+		this.row = row;
+		this.col = col;
+		length = previousState.length + 1;
+		if (length % CHECKPOINT == 0) {
+			int[] positions = new int[CHECKPOINT];
+			TraceState state = this;
+			for (int i = 0; i < CHECKPOINT; i++) {
+				positions[i] = state.index(state.row, state.col);
+				state = state.previous;
+			}
+			marked = previousState.marked.with(positions);
+			recent = 0;
+		} else {
+			marked = previousState.marked;
+			recent = previousState.recent | bit(row, col);
+		}
+	}
+
+	/** Filter bit for a board position - positions sharing a bit are told
+	 * apart by walking the points after the last checkpoint in onPath()
+	 * @param row
+	 * @param col
+	 * @return single bit mask for the position
+	 */
+	private static long bit(int row, int col) {
+		return 1L << ((row * 31 + col) & 63);
+	}
+
+	/** @param row
+	 * @param col
+	 * @return true if given position is already part of this state's path
+	 */
+	private boolean onPath(int row, int col) {
+		if ((recent & bit(row, col)) != 0) {
+			int checkpoint = length - length % CHECKPOINT;
+			for (TraceState state = this; state != null && state.length > checkpoint; state = state.previous) {
+				if (state.row == row && state.col == col) {
+					return true;
+				}
+			}
+		}
+		return marked.contains(index(row, col));
 	}
-	
+
+	/** @param row
+	 * @param col
+	 * @return row-major index of the position, its key in a PathSet
+	 */
+	private int index(int row, int col) {
+		return row * board.numCols() + col;
+	}
+
 	/** Indicates if a position is open in this state's board
 	 * @param row row of position to check
 	 * @param col column of position to check
 	 * @return true if given row and column position is open
 	 */
 	public boolean isOpen(int row, int col) {
-		return board.isOpen(row, col);
+		return board.isOpen(row, col) && !onPath(row, col);
+	}
+
+	/** Return the char at board position row, col in this state
+	 * @param row row coordinate
+	 * @param col col coordinate
+	 * @return char at row, col, 'T' for positions on the path
+	 */
+	public char charAt(int row, int col) {
+		return onPath(row, col) ? 'T' : board.charAt(row, col);
 	}
-	
+
 	/** @return path length */
 	public int pathLength() {
-		return path.size();
+		return length;
+	}
+
+	/** Orders states shortest path first, so a priority Storage explores them
+	 * as a uniform-cost search. Inconsistent with equals(): states with
+	 * different paths of the same length compare as equal.
+	 * @param other state to compare with
+	 * @return negative, zero or positive as this path is shorter, the same length or longer
+	 */
+	@Override
+	public int compareTo(TraceState other) {
+		return Integer.compare(length, other.length);
 	}
-	
+
 	/** @return row of the last point in the path */
 	public int getRow() {
-		return path.get(path.size()-1).x;
+		return row;
 	}
-	
+
 	/** @return column of the last point in the path */
 	public int getCol() {
-		return path.get(path.size()-1).y;
+		return col;
 	}
-	
+
+	/** @return state this one extends by one point, null for the first point of the path */
+	public TraceState getPrevious() {
+		return previous;
+	}
+
 	/** @return the current CircuitBoard from this state with the path filled in with 'T's */
 	public CircuitBoard getBoard() {
-		return new CircuitBoard(board);
+		CircuitBoard copy = new CircuitBoard(board);
+		for (TraceState state = this; state != null; state = state.previous) {
+			copy.makeTrace(state.row, state.col);
+		}
+		return copy;
 	}
-	
+
 	/** @return list of row, column points that make up the path */
 	public ArrayList<Point> getPath() {
-		return new ArrayList<Point>(path);
+		Point[] points = new Point[length];
+		for (TraceState state = this; state != null; state = state.previous) {
+			points[state.length - 1] = new Point(state.row, state.col);
+		}
+		ArrayList<Point> path = new ArrayList<Point>(length);
+		for (Point p : points) {
+			path.add(p);
+		}
+		return path;
 	}
-	
+
 	/** @return true if path ends adjacent to ending component */
 	public boolean isSolution() {
-		Point p1 = path.get(path.size()-1);
 		Point p2 = board.getEndingPoint();
-		if (p1.x-1 == p2.x && p1.y == p2.y) {
+		if (row-1 == p2.x && col == p2.y) {
 			return true;
 		}
-		if (p1.x+1 == p2.x && p1.y == p2.y) {
+		if (row+1 == p2.x && col == p2.y) {
 			return true;
 		}
-		if (p1.x == p2.x && p1.y-1 == p2.y) {
+		if (row == p2.x && col-1 == p2.y) {
 			return true;
 		}
-		if (p1.x == p2.x && p1.y+1 == p2.y) {
+		if (row == p2.x && col+1 == p2.y) {
 			return true;
 		}
 		return false;
 	}
-	
+
 	/* (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
 	public String toString() {
-		return board.toString();
+		return getBoard().toString();
+	}
+
+	/**
+	 * Persistent set of row-major board positions: a tree of Object[] nodes
+	 * with BRANCH children each, whose leaves are bitsets of LEAF_SIZE
+	 * positions. Adding positions copies only the nodes on their way from the
+	 * root and leaves the original set unchanged, so states branching from
+	 * the same path share everything else.
+	 */
+	private static final class PathSet {
+		/** positions in one leaf, as bits of LEAF_SIZE / 64 longs */
+		private static final int LEAF_BITS = 8;
+		private static final int LEAF_SIZE = 1 << LEAF_BITS;
+		/** children of an inner node */
+		private static final int BRANCH_BITS = 4;
+		private static final int BRANCH = 1 << BRANCH_BITS;
+
+		/** root of the tree: a long[] leaf when depth is 0, else an Object[]; null when empty */
+		private final Object root;
+		/** number of inner node levels above the leaves */
+		private final int depth;
+
+		/** Empty set
+		 * @param positions number of positions on the board
+		 */
+		PathSet(int positions) {
+			int depth = 0;
+			for (long capacity = LEAF_SIZE; capacity < positions; capacity *= BRANCH) {
+				depth++;
+			}
+			this.root = null;
+			this.depth = depth;
+		}
+
+		/** @param root
+		 * @param depth
+		 */
+		private PathSet(Object root, int depth) {
+			this.root = root;
+			this.depth = depth;
+		}
+
+		/** @param index row-major position
+		 * @return true if the position is in the set
+		 */
+		boolean contains(int index) {
+			Object node = root;
+			for (int level = depth; level > 0 && node != null; level--) {
+				node = ((Object[]) node)[(index >>> shift(level)) & (BRANCH - 1)];
+			}
+			if (node == null) {
+				return false;
+			}
+			int bit = index & (LEAF_SIZE - 1);
+			return (((long[]) node)[bit >>> 6] & (1L << bit)) != 0;
+		}
+
+		/** @param indices row-major positions to add, reordered by this call
+		 * @return new set with this set's positions and the given ones
+		 */
+		PathSet with(int[] indices) {
+			Arrays.sort(indices);
+			return new PathSet(insert(root, depth, indices, 0, indices.length), depth);
+		}
+
+		/** @param level inner node level, from 1 just above the leaves
+		 * @return shift that brings a position's child number at that level to the lowest bits
+		 */
+		private static int shift(int level) {
+			return LEAF_BITS + (level - 1) * BRANCH_BITS;
+		}
+
+		/** Copy a node and the children that sorted indices from to to fall under,
+		 * adding those indices
+		 * @param node node to copy, null for an empty one
+		 * @param level level of the node, 0 for a leaf
+		 * @param sorted positions in ascending order
+		 * @param from first position added under this node
+		 * @param to end of the positions added under this node
+		 * @return copy of the node with the positions added
+		 */
+		private static Object insert(Object node, int level, int[] sorted, int from, int to) {
+			if (level == 0) {
+				long[] leaf = node == null ? new long[LEAF_SIZE / 64] : ((long[]) node).clone();
+				for (int i = from; i < to; i++) {
+					int bit = sorted[i] & (LEAF_SIZE - 1);
+					leaf[bit >>> 6] |= 1L << bit;
+				}
+				return leaf;
+			}
+			Object[] children = node == null ? new Object[BRANCH] : ((Object[]) node).clone();
+			int shift = shift(level);
+			int i = from;
+			while (i < to) {
+				int child = (sorted[i] >>> shift) & (BRANCH - 1);
+				int end = i + 1;
+				while (end < to && ((sorted[end] >>> shift) & (BRANCH - 1)) == child) {
+					end++;
+				}
+				children[child] = insert(children[child], level - 1, sorted, i, end);
+				i = end;
+			}
+			return children;
+		}
 	}
-}
\ No newline at end of file
+}
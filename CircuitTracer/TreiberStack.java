@@ -0,0 +1,95 @@
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Lock-free stack that any number of threads can store to and retrieve from
+ * at once. The top of the stack is a single atomic reference to a linked
+ * node: store links a new node to the current top and swings the reference
+ * to it with compare-and-set, retrieve swings it to the top node's
+ * successor, and either one retries if another thread changed the top in
+ * between. A node is never reused, so a top that compares equal really is
+ * unchanged.
+ *
+ * Threads sharing the stack should retrieve with poll(), since the stack
+ * can become empty between a call to isEmpty() and a call to retrieve().
+ *
+ * @author Jacob Smith
+ */
+public class TreiberStack<T> implements StateContainer<T> {
+	/** top of the stack, null when empty */
+	private final AtomicReference<Node<T>> top = new AtomicReference<>();
+	/** number of elements, updated just after each push or pop */
+	private final AtomicInteger size = new AtomicInteger();
+
+	/** {@inheritDoc}
+	 * @throws NullPointerException if element is null
+	 */
+	@Override
+	public void store(T element) {
+		if (element == null) {
+			throw new NullPointerException();
+		}
+		Node<T> node = new Node<T>(element);
+		do {
+			node.next = top.get();
+		} while (!top.compareAndSet(node.next, node));
+		size.incrementAndGet();
+	}
+
+	@Override
+	public T retrieve() {
+		T element = poll();
+		if (element == null) {
+			throw new NoSuchElementException();
+		}
+		return element;
+	}
+
+	@Override
+	public T poll() {
+		Node<T> node;
+		do {
+			node = top.get();
+			if (node == null) {
+				return null;
+			}
+		} while (!top.compareAndSet(node, node.next));
+		size.decrementAndGet();
+		return node.element;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return top.get() == null;
+	}
+
+	/** @return number of elements, which may be out of date by the time it is returned
+	 *  if other threads are using the stack
+	 */
+	@Override
+	public int size() {
+		// a pop can be counted before the push it removed, so the count can briefly dip below 0
+		return Math.max(0, size.get());
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return true;
+	}
+
+	/** One element of the stack and a link to the element below it */
+	private static class Node<T> {
+		/** element stored */
+		private final T element;
+		/** node below this one, set before the node is published */
+		private Node<T> next;
+
+		/** Constructor
+		 * @param element element stored
+		 */
+		Node(T element) {
+			this.element = element;
+		}
+	}
+} // class TreiberStack
@@ -0,0 +1,396 @@
+import java.awt.Point;
+import java.util.Arrays;
+
+/**
+ * Dijkstra's search for the traces of lowest total cost, where running a
+ * trace through a position costs that position's cost from the board's
+ * cost layer (1 on boards without one) and every bend in the trace, where
+ * it changes direction, costs a fixed turn cost. Among traces of equal cost
+ * only the shortest are kept, so every trace handed to the collector has
+ * the same cost and length.
+ *
+ * A fewestTurns() search instead ranks traces by length and then by number
+ * of bends, ignoring any cost layer, so it hands over only the shortest
+ * traces with the fewest bends rather than every shortest trace.
+ *
+ * Turns depend on the direction a trace arrives from, so with a turn cost
+ * each search state is a position plus the direction of the last step,
+ * four states per position; without one, a state is just a position. Each
+ * state's cost is packed into a single long key, the total cost times a
+ * scale larger than any trace length plus the trace length (or the length
+ * times the scale plus the bends, for fewestTurns()), so one comparison of
+ * keys orders traces by cost and then by length. Keys only
+ * grow along a trace, so states wait in a RadixHeap rather than a
+ * comparison-based heap.
+ *
+ * As in ShortestPathSearch, no TraceStates are made while searching: the
+ * states on some lowest-cost trace are marked by walking the keys back from
+ * the ending component, and the traces are rebuilt by following the marks
+ * forward from the start, neighbors in the order up, down, left, right.
+ *
+ * @author Jacob Smith
+ */
+public class WeightedSearch implements SearchEngine {
+	/** row and column offsets of the four neighbors, in the order they are explored: up, down, left, right */
+	private static final int[] DROW = {-1, 1, 0, 0};
+	private static final int[] DCOL = {0, 0, -1, 1};
+	/** key of states not yet reached */
+	private static final long UNREACHED = Long.MAX_VALUE;
+	/** counters for the last search */
+	private final SearchMetrics metrics = new SearchMetrics();
+	/** cost added for every bend in a trace */
+	private final int turnCost;
+	/** true to rank traces by length and then bends instead of by cost and then length */
+	private final boolean fewestTurns;
+
+	/** position of the ending component */
+	private Point end;
+	/** number of rows on the board */
+	private int rows;
+	/** number of columns on the board */
+	private int cols;
+	/** log2 of the search states per position: 2 to tell apart the direction a trace arrived from, 0 if turns are free */
+	private int dirShift;
+	/** multiplier applied to costs in a key, larger than any trace length or number of bends */
+	private long scale;
+	/** key added by a bend */
+	private long turnKey;
+	/** key added by stepping into each row-major position, 0 for positions that are not open */
+	private long[] enterKeys;
+	/** key of each state, UNREACHED if no trace reaches it */
+	private long[] keys;
+	/** key of the best trace found by the last search, UNREACHED if there was none */
+	private long bestKey;
+
+	/** Constructor for a search in which bends cost nothing.
+	 * Equivalent to WeightedSearch(0). */
+	public WeightedSearch() {
+		this(0);
+	}
+
+	/** Constructor
+	 * @param turnCost cost added for every bend in a trace, from 0 to CircuitBoard.MAX_COST
+	 * @throws IllegalArgumentException if turnCost is out of range
+	 */
+	public WeightedSearch(int turnCost) {
+		this(turnCost, false);
+	}
+
+	/** Constructor
+	 * @param turnCost cost added for every bend in a trace, ignored if fewestTurns is true
+	 * @param fewestTurns true to rank traces by length and then bends instead of by cost and then length
+	 * @throws IllegalArgumentException if turnCost is out of range
+	 */
+	private WeightedSearch(int turnCost, boolean fewestTurns) {
+		if (turnCost < 0 || turnCost > CircuitBoard.MAX_COST) {
+			throw new IllegalArgumentException("turn cost must be from 0 to " + CircuitBoard.MAX_COST);
+		}
+		this.turnCost = turnCost;
+		this.fewestTurns = fewestTurns;
+	}
+
+	/** @return search for the shortest traces with the fewest bends, ignoring any cost layer */
+	public static WeightedSearch fewestTurns() {
+		return new WeightedSearch(0, true);
+	}
+
+	@Override
+	public boolean findsShortestFirst() {
+		return true;
+	}
+
+	@Override
+	public SearchMetrics getMetrics() {
+		return metrics;
+	}
+
+	@Override
+	public void search(CircuitBoard board, SolutionCollector collector) {
+		metrics.start(board);
+		end = board.getEndingPoint();
+		rows = board.numRows();
+		cols = board.numCols();
+		dirShift = turnCost == 0 && !fewestTurns ? 0 : 2;
+		int positions = rows * cols;
+		// a trace has at most one bend per step, one more step than positions
+		scale = positions + 2L;
+		if ((2L * CircuitBoard.MAX_COST + 1) * positions > Long.MAX_VALUE / scale) {
+			throw new IllegalArgumentException("Board is too large for weighted search.");
+		}
+		turnKey = fewestTurns ? 1 : turnCost * scale;
+		enterKeys = new long[positions];
+		for (int index = 0; index < positions; index++) {
+			if (board.isOpen(index / cols, index % cols)) {
+				enterKeys[index] = fewestTurns ? scale : board.costAt(index / cols, index % cols) * scale + 1;
+			}
+		}
+		keys = new long[positions << dirShift];
+		Arrays.fill(keys, UNREACHED);
+		bestKey = UNREACHED;
+
+		labelKeys(board);
+		if (bestKey != UNREACHED) {
+			rebuildTraces(board, markBest(), collector);
+		}
+		keys = null;
+		enterKeys = null;
+		metrics.stop();
+	}
+
+	/** @return lowest total cost of a trace found by the last search, 0 if there was no trace;
+	 *         for fewestTurns(), where every position costs 1, the length of the shortest trace
+	 */
+	public long getBestCost() {
+		return bestKey == UNREACHED ? 0 : bestKey / scale;
+	}
+
+	/** @return fewest bends in a shortest trace found by the last fewestTurns() search,
+	 *         0 if there was no trace
+	 * @throws IllegalStateException if this is not a fewestTurns() search
+	 */
+	public long getBestTurns() {
+		if (!fewestTurns) {
+			throw new IllegalStateException("bends are only counted by a fewestTurns() search");
+		}
+		return bestKey == UNREACHED ? 0 : bestKey % scale;
+	}
+
+	/** @return true if this search ranks traces by length and then bends */
+	public boolean isFewestTurns() {
+		return fewestTurns;
+	}
+
+	/** @return cost added for every bend in a trace */
+	public int getTurnCost() {
+		return turnCost;
+	}
+
+	/** Run Dijkstra's search from the starting component, labeling each state
+	 * with its key, until no state left could be on a lowest-cost trace
+	 * @param board board to search
+	 */
+	private void labelKeys(CircuitBoard board) {
+		RadixHeap heap = new RadixHeap();
+		Point start = board.getStartingPoint();
+		for (int dir = 0; dir < DROW.length; dir++) {
+			int index = neighbor(start.x, start.y, dir);
+			if (index >= 0) {
+				relax(heap, state(index, dir), enterKeys[index]);
+			}
+		}
+		while (!heap.isEmpty()) {
+			int state = heap.remove();
+			long key = heap.lastKey();
+			if (key > bestKey) {
+				// every state still waiting costs more than the best trace
+				metrics.statesPruned(heap.size() + 1);
+				break;
+			}
+			if (key != keys[state]) {
+				// queued again since with a lower key
+				continue;
+			}
+			int index = state >>> dirShift;
+			int row = index / cols;
+			int col = index % cols;
+			int arrived = state & ((1 << dirShift) - 1);
+			long last = endKey(row, col, arrived);
+			if (last >= 0) {
+				// a trace ends next to the ending component and is never extended
+				bestKey = Math.min(bestKey, key + last);
+				continue;
+			}
+			for (int dir = 0; dir < DROW.length; dir++) {
+				int next = neighbor(row, col, dir);
+				if (next >= 0) {
+					relax(heap, state(next, dir), key + stepKey(next, dir != arrived));
+				}
+			}
+		}
+	}
+
+	/** Lower a state's key if the given key is lower, queueing it again
+	 * @param heap states waiting to be expanded
+	 * @param state state reached
+	 * @param key key of the trace reaching it
+	 */
+	private void relax(RadixHeap heap, int state, long key) {
+		if (key < keys[state]) {
+			keys[state] = key;
+			heap.add(key, state);
+			metrics.stateCreated();
+			metrics.storageSize(heap.size());
+		}
+	}
+
+	/** Mark every state that lies on at least one lowest-cost trace by
+	 * walking keys back from the states that end one
+	 * @return marks per state, true for states on a lowest-cost trace
+	 */
+	private boolean[] markBest() {
+		boolean[] onBest = new boolean[keys.length];
+		int[] stack = new int[keys.length];
+		int top = 0;
+		for (int dir = 0; dir < DROW.length; dir++) {
+			int index = neighbor(end.x, end.y, dir);
+			for (int arrived = 0; index >= 0 && arrived < 1 << dirShift; arrived++) {
+				if (isBestEnd(state(index, arrived))) {
+					onBest[state(index, arrived)] = true;
+					stack[top++] = state(index, arrived);
+				}
+			}
+		}
+		while (top > 0) {
+			int state = stack[--top];
+			int index = state >>> dirShift;
+			int arrived = state & ((1 << dirShift) - 1);
+			int row = index / cols;
+			int col = index % cols;
+			for (int dir = 0; dir < DROW.length; dir++) {
+				if (dirShift > 0 && dir != arrived) {
+					continue;
+				}
+				// the position the trace stepped from, opposite the direction it arrived in
+				int r = row - DROW[dir];
+				int c = col - DCOL[dir];
+				int from = r * cols + c;
+				if (r < 0 || r >= rows || c < 0 || c >= cols || enterKeys[from] == 0 || endKey(r, c, 0) >= 0) {
+					continue;
+				}
+				for (int before = 0; before < 1 << dirShift; before++) {
+					int previous = state(from, before);
+					if (!onBest[previous] && keys[previous] != UNREACHED
+							&& keys[previous] + stepKey(index, before != dir) == keys[state]) {
+						onBest[previous] = true;
+						stack[top++] = previous;
+					}
+				}
+			}
+		}
+		return onBest;
+	}
+
+	/** Rebuild every lowest-cost trace from the marks, handing each to the collector
+	 * @param board board that was searched
+	 * @param onBest marks from markBest()
+	 * @param collector receives the traces
+	 */
+	private void rebuildTraces(CircuitBoard board, boolean[] onBest, SolutionCollector collector) {
+		// rebuild traces depth-first, pushing neighbors in reverse so they come back out up, down, left, right
+		Storage<TraceState> stateStore = Storage.getStackInstance();
+		Point start = board.getStartingPoint();
+		for (int dir = DROW.length - 1; dir >= 0; dir--) {
+			int index = neighbor(start.x, start.y, dir);
+			// a position next to the start may also be reached the long way round
+			if (index >= 0 && onBest[state(index, dir)] && keys[state(index, dir)] == enterKeys[index]) {
+				store(stateStore, new TraceState(board, index / cols, index % cols));
+			}
+		}
+		while (!stateStore.isEmpty()) {
+			TraceState current = stateStore.retrieve();
+			int arrived = arrivedDir(current, start);
+			int state = state(current.getRow() * cols + current.getCol(), arrived);
+			if (isBestEnd(state)) {
+				metrics.solutionFound();
+				collector.add(current);
+				if (collector.isFull()) {
+					break;
+				}
+				continue;
+			}
+			if (endKey(current.getRow(), current.getCol(), arrived) >= 0) {
+				// ends a trace, just not a best one
+				continue;
+			}
+			for (int dir = DROW.length - 1; dir >= 0; dir--) {
+				int r = current.getRow() + DROW[dir];
+				int c = current.getCol() + DCOL[dir];
+				if (current.isOpen(r, c)) {
+					int next = state(r * cols + c, dir);
+					if (onBest[next] && keys[state] + stepKey(r * cols + c, dir != arrived) == keys[next]) {
+						store(stateStore, new TraceState(current, r, c));
+					}
+				}
+			}
+		}
+	}
+
+	/** Store a new state, counting it
+	 * @param stateStore storage for states waiting to be explored
+	 * @param state state to explore
+	 */
+	private void store(Storage<TraceState> stateStore, TraceState state) {
+		stateStore.store(state);
+		metrics.stateCreated(state);
+		metrics.storageSize(stateStore.size());
+	}
+
+	/** @param state search state
+	 * @return true if the state ends a trace with the best key
+	 */
+	private boolean isBestEnd(int state) {
+		int index = state >>> dirShift;
+		long last = endKey(index / cols, index % cols, state & ((1 << dirShift) - 1));
+		return last >= 0 && keys[state] != UNREACHED && keys[state] + last == bestKey;
+	}
+
+	/** @param row row of a position
+	 * @param col column of a position
+	 * @param arrived direction the trace arrived at the position in, ignored if turns are free
+	 * @return key added by the last step of a trace from the position into the
+	 *         ending component, or -1 if the position is not next to it
+	 */
+	private long endKey(int row, int col, int arrived) {
+		int dr = end.x - row;
+		int dc = end.y - col;
+		if (Math.abs(dr) + Math.abs(dc) != 1) {
+			return -1;
+		}
+		int dir = dr == -1 ? 0 : dr == 1 ? 1 : dc == -1 ? 2 : 3;
+		return dir != arrived ? turnKey : 0;
+	}
+
+	/** @param index row-major position stepped into, which must be open
+	 * @param turn true if the step changes direction
+	 * @return key added by the step: the position's cost, any turn cost, and one more position of length
+	 */
+	private long stepKey(int index, boolean turn) {
+		return turn && dirShift > 0 ? enterKeys[index] + turnKey : enterKeys[index];
+	}
+
+	/** @param row row of a position
+	 * @param col column of a position
+	 * @param dir direction to step in
+	 * @return row-major position of the neighbor in that direction, -1 if it is not open
+	 */
+	private int neighbor(int row, int col, int dir) {
+		int r = row + DROW[dir];
+		int c = col + DCOL[dir];
+		if (r < 0 || r >= rows || c < 0 || c >= cols || enterKeys[r * cols + c] == 0) {
+			return -1;
+		}
+		return r * cols + c;
+	}
+
+	/** @param index row-major position
+	 * @param dir direction of the last step
+	 * @return search state for a trace arriving at the position in the direction
+	 */
+	private int state(int index, int dir) {
+		return dirShift == 0 ? index : index << dirShift | dir;
+	}
+
+	/** @param trace partial trace
+	 * @param start position of the starting component
+	 * @return direction of the last step of the trace, 0 if turns are free
+	 */
+	private int arrivedDir(TraceState trace, Point start) {
+		if (dirShift == 0) {
+			return 0;
+		}
+		TraceState previous = trace.getPrevious();
+		int fromRow = previous == null ? start.x : previous.getRow();
+		int fromCol = previous == null ? start.y : previous.getCol();
+		return trace.getRow() < fromRow ? 0 : trace.getRow() > fromRow ? 1 : trace.getCol() < fromCol ? 2 : 3;
+	}
+} // class WeightedSearch
@@ -0,0 +1,73 @@
+package circuittracer.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CircuitBoard operations every search state pays for: the copy each new
+ * trace makes of its starting board, and isOpen() on every neighbor it
+ * considers. Boards are random BoardGenerator boards of each size, with a
+ * fifth of their positions occupied.
+ *
+ * @author Jacob Smith
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+	/** seed for the generated boards */
+	private static final long SEED = 25;
+
+	/** number of rows and columns */
+	@Param({ "10", "100", "1000" })
+	public int size;
+
+	/** board being copied and checked */
+	private Object board;
+	/** position checked by the next isOpen() */
+	private int row;
+	private int col;
+
+	/** Generate the board */
+	@Setup
+	public void setUp() {
+		board = Tracer.generate("random", size, size, 0.2, SEED);
+		row = 0;
+		col = 0;
+	}
+
+	/** @return copy of the board */
+	@Benchmark
+	public Object copy() {
+		return Tracer.copyBoard(board);
+	}
+
+	/** Check the next position, moving across the board in row-major order
+	 * so the answer cannot be folded into a constant
+	 * @return true if the position is open
+	 */
+	@Benchmark
+	public boolean isOpen() {
+		if (++col == size) {
+			col = 0;
+			if (++row == size) {
+				row = 0;
+			}
+		}
+		return Tracer.isOpen(board, row, col);
+	}
+} // class BoardBenchmark
@@ -0,0 +1,67 @@
+package circuittracer.jmh;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full solves, finding every shortest trace the way CircuitTracer does:
+ * unreachable positions are pruned once, then each invocation searches the
+ * board with a new engine. Boards are the hand-written valid4 and valid8
+ * from the boards directory - found through the circuittracer.boards
+ * system property, by default the boards directory of the working
+ * directory - and a 101x101 maze from BoardGenerator, whose one trace
+ * runs through much of the board.
+ *
+ * @author Jacob Smith
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolveBenchmark {
+	/** name of a board file in the boards directory, without .dat, or maze101 */
+	@Param({ "valid4", "valid8", "maze101" })
+	public String board;
+
+	/** CircuitTracer storage type selecting the engine */
+	@Param({ "-s", "-q", "-b", "-a", "-d", "-i", "-w", "-j" })
+	public String engine;
+
+	/** board searched */
+	private Object circuit;
+
+	/** Load or generate the board and prune it */
+	@Setup
+	public void setUp() {
+		if (board.equals("maze101")) {
+			circuit = Tracer.generate("maze", 101, 101, 0, 101);
+		} else {
+			File boards = new File(System.getProperty("circuittracer.boards", "boards"));
+			circuit = Tracer.readBoard(new File(boards, board + ".dat").getPath());
+		}
+		Tracer.prune(circuit);
+		// fail at setup rather than in every invocation if the engine is not known
+		Tracer.engine(engine);
+	}
+
+	/** @return every shortest trace */
+	@Benchmark
+	public List<?> solve() {
+		return Tracer.findBestPaths(Tracer.engine(engine), circuit);
+	}
+} // class SolveBenchmark
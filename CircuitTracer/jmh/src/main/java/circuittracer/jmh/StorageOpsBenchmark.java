@@ -0,0 +1,71 @@
+package circuittracer.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Storage store() and retrieve() for the stacks and queues behind the
+ * brute force search, in the same pattern as StorageBenchmark: one
+ * retrieve after every second store, the way a search retrieves a state
+ * and stores its neighbors, then retrieves until empty. Times are per
+ * element stored.
+ *
+ * @author Jacob Smith
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorageOpsBenchmark {
+	/** number of elements stored per invocation */
+	private static final int ELEMENTS = 1 << 16;
+
+	/** Storage container name: the java.util stack and queue, and their array-backed replacements */
+	@Param({ "stack", "queue", "arrayStack", "ringBuffer" })
+	public String structure;
+
+	/** elements stored */
+	private Integer[] elements;
+
+	/** Box the elements once, so boxing is not timed */
+	@Setup
+	public void setUp() {
+		elements = new Integer[ELEMENTS];
+		for (int i = 0; i < ELEMENTS; i++) {
+			elements[i] = i;
+		}
+	}
+
+	/** Store and retrieve every element through a new Storage
+	 * @param blackhole consumes retrieved elements
+	 */
+	@Benchmark
+	@OperationsPerInvocation(ELEMENTS)
+	public void storeAndRetrieve(Blackhole blackhole) {
+		Object storage = Tracer.newStorage(structure);
+		for (int i = 0; i < ELEMENTS; i++) {
+			Tracer.store(storage, elements[i]);
+			if ((i & 1) == 1) {
+				blackhole.consume(Tracer.retrieve(storage));
+			}
+		}
+		while (!Tracer.isEmpty(storage)) {
+			blackhole.consume(Tracer.retrieve(storage));
+		}
+	}
+} // class StorageOpsBenchmark
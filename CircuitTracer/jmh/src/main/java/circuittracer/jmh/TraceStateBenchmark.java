@@ -0,0 +1,99 @@
+package circuittracer.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * TraceState creation: the first state of a trace, which copies the board,
+ * and a state extending a trace of a given length, which checks that its
+ * position is not already on the trace. On an open 100x100 board the trace
+ * snakes back and forth across the rows below the starting component.
+ *
+ * @author Jacob Smith
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraceStateBenchmark {
+	/** number of rows and columns of the board */
+	private static final int SIZE = 100;
+
+	/** open board the traces run across */
+	private Object board;
+
+	/** Generate the board */
+	@Setup
+	public void setUp() {
+		board = Tracer.generate("open", SIZE, SIZE, 0, 0);
+	}
+
+	/** Trace being extended, kept apart so only extend() runs once per length */
+	@State(Scope.Thread)
+	public static class Trace {
+		/** number of positions on the trace */
+		@Param({ "1", "64", "4096" })
+		public int length;
+
+		/** last state of the trace */
+		private Object last;
+		/** position that extends the trace */
+		private int nextRow;
+		private int nextCol;
+
+		/** Build the trace
+		 * @param benchmark state holding the board
+		 */
+		@Setup
+		public void setUp(TraceStateBenchmark benchmark) {
+			last = Tracer.startTrace(benchmark.board, 1, 0);
+			for (int i = 1; i < length; i++) {
+				last = Tracer.extendTrace(last, snakeRow(i), snakeCol(i));
+			}
+			nextRow = snakeRow(length);
+			nextCol = snakeCol(length);
+		}
+	}
+
+	/** @return new first state of a trace */
+	@Benchmark
+	public Object start() {
+		return Tracer.startTrace(board, 1, 0);
+	}
+
+	/** @param trace trace to extend
+	 * @return new state adding one position to the trace
+	 */
+	@Benchmark
+	public Object extend(Trace trace) {
+		return Tracer.extendTrace(trace.last, trace.nextRow, trace.nextCol);
+	}
+
+	/** @param i index along the snake
+	 * @return row of the snake's position i, starting from row 1
+	 */
+	private static int snakeRow(int i) {
+		return 1 + i / SIZE;
+	}
+
+	/** @param i index along the snake
+	 * @return column of the snake's position i, left to right on odd rows and right to left on even ones
+	 */
+	private static int snakeCol(int i) {
+		int row = i / SIZE;
+		return row % 2 == 0 ? i % SIZE : SIZE - 1 - i % SIZE;
+	}
+} // class TraceStateBenchmark
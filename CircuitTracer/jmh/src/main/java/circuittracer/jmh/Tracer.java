@@ -0,0 +1,332 @@
+package circuittracer.jmh;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calls into the CircuitTracer classes for the benchmarks. Those classes are
+ * in the default package, which code in a named package cannot refer to,
+ * and JMH only runs benchmarks in a named package. So each class is loaded
+ * by name once and each method reached through a static final method
+ * handle, which the JIT compiler inlines like a direct call; the benchmarks
+ * hold boards, states and storage as plain Objects.
+ *
+ * @author Jacob Smith
+ */
+final class Tracer {
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	/** CircuitTracer classes, loaded by name */
+	private static final Class<?> BOARD = load("CircuitBoard");
+	private static final Class<?> TRACE_STATE = load("TraceState");
+	private static final Class<?> STORAGE = load("Storage");
+	private static final Class<?> SEARCH_ENGINE = load("SearchEngine");
+	private static final Class<?> LAYOUT = load("BoardGenerator$Layout");
+
+	/** handles on the members called, with CircuitTracer types erased to Object */
+	private static final MethodHandle READ_BOARD = constructor(BOARD, String.class);
+	private static final MethodHandle COPY_BOARD = constructor(BOARD, BOARD);
+	private static final MethodHandle IS_OPEN = virtual(BOARD, "isOpen", boolean.class, int.class, int.class);
+	private static final MethodHandle NUM_ROWS = virtual(BOARD, "numRows", int.class);
+	private static final MethodHandle NUM_COLS = virtual(BOARD, "numCols", int.class);
+	private static final MethodHandle PRUNE = virtual(BOARD, "pruneUnreachable", int.class);
+	private static final MethodHandle GENERATE = staticMethod(load("BoardGenerator"), "generate", BOARD, LAYOUT,
+			int.class, int.class, double.class, long.class);
+	private static final MethodHandle START_TRACE = constructor(TRACE_STATE, BOARD, int.class, int.class);
+	private static final MethodHandle EXTEND_TRACE = constructor(TRACE_STATE, TRACE_STATE, int.class, int.class);
+	private static final MethodHandle NEW_STORAGE = constructor(STORAGE, String.class);
+	private static final MethodHandle STORE = virtual(STORAGE, "store", void.class, Object.class);
+	private static final MethodHandle RETRIEVE = virtual(STORAGE, "retrieve", Object.class);
+	private static final MethodHandle IS_EMPTY = virtual(STORAGE, "isEmpty", boolean.class);
+	private static final MethodHandle GET_ENGINE = getEngine();
+	private static final MethodHandle FIND_BEST_PATHS = virtual(SEARCH_ENGINE, "findBestPaths",
+			ArrayList.class, BOARD);
+
+	/** Only static methods */
+	private Tracer() {
+	}
+
+	/** @param fileName board file
+	 * @return new CircuitBoard read from the file
+	 */
+	static Object readBoard(String fileName) {
+		try {
+			return (Object) READ_BOARD.invokeExact(fileName);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param layout name of a BoardGenerator layout
+	 * @param rows
+	 * @param cols
+	 * @param density
+	 * @param seed
+	 * @return new CircuitBoard from BoardGenerator.generate()
+	 */
+	static Object generate(String layout, int rows, int cols, double density, long seed) {
+		try {
+			return (Object) GENERATE.invokeExact(layout(layout), rows, cols, density, seed);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param board CircuitBoard to copy
+	 * @return new CircuitBoard from the copy constructor
+	 */
+	static Object copyBoard(Object board) {
+		try {
+			return (Object) COPY_BOARD.invokeExact(board);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param board CircuitBoard
+	 * @param row
+	 * @param col
+	 * @return board.isOpen(row, col)
+	 */
+	static boolean isOpen(Object board, int row, int col) {
+		try {
+			return (boolean) IS_OPEN.invokeExact(board, row, col);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param board CircuitBoard
+	 * @return board.numRows()
+	 */
+	static int numRows(Object board) {
+		try {
+			return (int) NUM_ROWS.invokeExact(board);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param board CircuitBoard
+	 * @return board.numCols()
+	 */
+	static int numCols(Object board) {
+		try {
+			return (int) NUM_COLS.invokeExact(board);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** Close the board's positions that no trace can use, as CircuitTracer does before searching
+	 * @param board CircuitBoard
+	 * @return number of positions closed
+	 */
+	static int prune(Object board) {
+		try {
+			return (int) PRUNE.invokeExact(board);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param board CircuitBoard
+	 * @param row
+	 * @param col
+	 * @return new TraceState starting a trace at row, col
+	 */
+	static Object startTrace(Object board, int row, int col) {
+		try {
+			return (Object) START_TRACE.invokeExact(board, row, col);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param previous TraceState to extend
+	 * @param row
+	 * @param col
+	 * @return new TraceState adding row, col to the trace
+	 */
+	static Object extendTrace(Object previous, int row, int col) {
+		try {
+			return (Object) EXTEND_TRACE.invokeExact(previous, row, col);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param name registered Storage container name, such as stack or queue
+	 * @return new Storage
+	 */
+	static Object newStorage(String name) {
+		try {
+			return (Object) NEW_STORAGE.invokeExact(name);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param storage Storage
+	 * @param element element to store
+	 */
+	static void store(Object storage, Object element) {
+		try {
+			STORE.invokeExact(storage, element);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param storage Storage
+	 * @return next element retrieved
+	 */
+	static Object retrieve(Object storage) {
+		try {
+			return (Object) RETRIEVE.invokeExact(storage);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param storage Storage
+	 * @return storage.isEmpty()
+	 */
+	static boolean isEmpty(Object storage) {
+		try {
+			return (boolean) IS_EMPTY.invokeExact(storage);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param storageType CircuitTracer storage type argument, such as -s or -b
+	 * @return new SearchEngine, without dominance pruning
+	 */
+	static Object engine(String storageType) {
+		try {
+			Object engine = (Object) GET_ENGINE.invokeExact(storageType, false);
+			if (engine == null) {
+				throw new IllegalArgumentException("Unknown storage type " + storageType);
+			}
+			return engine;
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param engine SearchEngine
+	 * @param board CircuitBoard to search
+	 * @return every shortest trace
+	 */
+	static List<?> findBestPaths(Object engine, Object board) {
+		try {
+			return (List<?>) (Object) FIND_BEST_PATHS.invokeExact(engine, board);
+		} catch (Throwable e) {
+			throw rethrow(e);
+		}
+	}
+
+	/** @param name layout name
+	 * @return BoardGenerator.Layout constant
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Object layout(String name) {
+		return Enum.valueOf((Class) LAYOUT, name);
+	}
+
+	/** @return handle on the package-private CircuitTracer.getEngine(String, boolean) */
+	private static MethodHandle getEngine() {
+		try {
+			Method method = load("CircuitTracer").getDeclaredMethod("getEngine", String.class, boolean.class);
+			method.setAccessible(true);
+			return erase(LOOKUP.unreflect(method));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** @param name binary name of a CircuitTracer class
+	 * @return the class
+	 */
+	private static Class<?> load(String name) {
+		try {
+			return Class.forName(name);
+		} catch (ClassNotFoundException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** @param type class to construct
+	 * @param parameters constructor parameter types
+	 * @return erased handle on the constructor
+	 */
+	private static MethodHandle constructor(Class<?> type, Class<?>... parameters) {
+		try {
+			return erase(LOOKUP.findConstructor(type, MethodType.methodType(void.class, parameters)));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** @param type class declaring the method
+	 * @param name method name
+	 * @param result return type
+	 * @param parameters parameter types
+	 * @return erased handle on the instance method
+	 */
+	private static MethodHandle virtual(Class<?> type, String name, Class<?> result, Class<?>... parameters) {
+		try {
+			return erase(LOOKUP.findVirtual(type, name, MethodType.methodType(result, parameters)));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** @param type class declaring the method
+	 * @param name method name
+	 * @param result return type
+	 * @param parameters parameter types
+	 * @return erased handle on the static method
+	 */
+	private static MethodHandle staticMethod(Class<?> type, String name, Class<?> result, Class<?>... parameters) {
+		try {
+			return erase(LOOKUP.findStatic(type, name, MethodType.methodType(result, parameters)));
+		} catch (ReflectiveOperationException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** @param handle method handle
+	 * @return the handle with every CircuitTracer type in its signature
+	 *         replaced by Object, the only type the benchmarks can name
+	 */
+	private static MethodHandle erase(MethodHandle handle) {
+		MethodType type = handle.type();
+		for (int i = 0; i < type.parameterCount(); i++) {
+			if (!type.parameterType(i).isPrimitive() && type.parameterType(i) != String.class) {
+				type = type.changeParameterType(i, Object.class);
+			}
+		}
+		if (!type.returnType().isPrimitive()) {
+			type = type.changeReturnType(Object.class);
+		}
+		return handle.asType(type);
+	}
+
+	/** @param e exception thrown through a method handle
+	 * @return never returns; rethrows e unchanged if it is unchecked, else wrapped
+	 */
+	private static RuntimeException rethrow(Throwable e) {
+		if (e instanceof RuntimeException) {
+			throw (RuntimeException) e;
+		}
+		if (e instanceof Error) {
+			throw (Error) e;
+		}
+		throw new IllegalStateException(e);
+	}
+} // class Tracer